@@ -0,0 +1,76 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.common.query.ResultMultiset;
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+/**
+ * Measures how the TLP oracles compare the result of the original query with the combined result of the partitioning
+ * queries, using synthetic results that are equal up to the order of their rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparatorHelperBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int nrRows;
+
+    @Param({ "10", "1000000" })
+    public int nrDistinctValues;
+
+    private List<String> firstResult;
+    private List<String> secondResult;
+    private SQLGlobalState<?, ?> state;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        firstResult = new ArrayList<>(nrRows);
+        for (int i = 0; i < nrRows; i++) {
+            firstResult.add(Double.toString(random.nextInt(nrDistinctValues) + 0.5));
+        }
+        secondResult = new ArrayList<>(firstResult);
+        Collections.shuffle(secondResult, random);
+        SQLite3GlobalState globalState = new SQLite3GlobalState();
+        globalState.setMainOptions(new MainOptions());
+        state = globalState;
+    }
+
+    @Benchmark
+    public void compareResults() {
+        ComparatorHelper.assumeResultSetsAreEqual(firstResult, secondResult, "", List.of(), state);
+    }
+
+    @Benchmark
+    public void compareCanonicalizedResults() {
+        ComparatorHelper.assumeResultSetsAreEqual(firstResult, secondResult, "", List.of(), state,
+                ComparatorHelper::canonicalizeResultValue);
+    }
+
+    @Benchmark
+    public ResultMultiset buildMultiset() {
+        return ResultMultiset.of(firstResult);
+    }
+
+}
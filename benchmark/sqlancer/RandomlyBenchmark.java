@@ -0,0 +1,71 @@
+package sqlancer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the generation of random values by {@link Randomly}, which all statement and expression generators depend
+ * on. The values are generated with the default {@link MainOptions}, which includes the constant cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomlyBenchmark {
+
+    private Randomly r;
+
+    @Setup
+    public void setup() {
+        Randomly.initialize(new MainOptions());
+        r = new Randomly(0);
+    }
+
+    @Benchmark
+    public long getInteger() {
+        return r.getInteger();
+    }
+
+    @Benchmark
+    public long getIntegerInRange() {
+        return r.getInteger(0, 100);
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return r.getDouble();
+    }
+
+    @Benchmark
+    public String getString() {
+        return r.getString();
+    }
+
+    @Benchmark
+    public byte[] getBytes() {
+        return r.getBytes();
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return Randomly.getBoolean();
+    }
+
+    @Benchmark
+    public Integer fromOptions() {
+        return Randomly.fromOptions(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+}
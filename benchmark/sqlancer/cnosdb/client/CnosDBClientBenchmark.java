@@ -0,0 +1,83 @@
+package sqlancer.cnosdb.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Measures the requests per second of the CnosDB client against a local HTTP server that answers each query with a
+ * CSV result of the given number of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// without TCP_NODELAY, the server delays small responses until the client acknowledges the previous ones
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class CnosDBClientBenchmark {
+
+    @Param({ "1", "100000" })
+    public int nrRows;
+
+    private HttpServer server;
+    private CnosDBClient client;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder sb = new StringBuilder("c0,c1\n");
+        for (int i = 0; i < nrRows; i++) {
+            sb.append(i).append(",value").append(i).append('\n');
+        }
+        byte[] response = sb.toString().getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/sql", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        client = new CnosDBClient("127.0.0.1", server.getAddress().getPort(), "root", "", "db0");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public long executeQuery() throws Exception {
+        CnosDBResultSet rs = client.executeQuery("SELECT c0, c1 FROM m0");
+        long sum = 0;
+        while (rs.next()) {
+            sum += rs.getLong(1);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public boolean execute() throws Exception {
+        return client.execute("INSERT INTO m0(c0, c1) VALUES (1, 'a')");
+    }
+
+}
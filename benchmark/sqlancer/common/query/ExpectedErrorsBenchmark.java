@@ -0,0 +1,76 @@
+package sqlancer.common.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.mysql.MySQLErrors;
+import sqlancer.sqlite3.SQLite3Errors;
+
+/**
+ * Compares {@link ExpectedErrors#errorIsExpected(String)} with the linear scan over all substrings and regexes that it
+ * replaces, using the expected errors of the SQLite3 and MySQL implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpectedErrorsBenchmark {
+
+    @Param({ "no such column: c0", "UNIQUE constraint failed: t0.c0",
+            "an error message that is not expected by any of the DBMS-testing implementations" })
+    public String error;
+
+    private List<String> substrings;
+    private List<Pattern> regexes;
+    private ExpectedErrors errors;
+
+    @Setup
+    public void setup() {
+        substrings = new ArrayList<>();
+        substrings.addAll(SQLite3Errors.getExpectedExpressionErrors());
+        substrings.addAll(SQLite3Errors.getInsertUpdateErrors());
+        substrings.addAll(SQLite3Errors.getTableManipulationErrors());
+        substrings.addAll(SQLite3Errors.getQueryErrors());
+        substrings.addAll(MySQLErrors.getExpressionErrors());
+        substrings.addAll(MySQLErrors.getInsertUpdateErrors());
+        regexes = new ArrayList<>(MySQLErrors.getExpressionRegexErrors());
+        errors = ExpectedErrors.newErrors().with(substrings).withRegex(regexes).build();
+    }
+
+    @Benchmark
+    public boolean errorIsExpected() {
+        return errors.errorIsExpected(error);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        for (String s : substrings) {
+            if (error.contains(s)) {
+                return true;
+            }
+        }
+        for (Pattern p : regexes) {
+            if (p.matcher(error).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,90 @@
+package sqlancer.duckdb.gen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.duckdb.DuckDBOptions;
+import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
+import sqlancer.duckdb.DuckDBSchema.DuckDBColumn;
+import sqlancer.duckdb.DuckDBSchema.DuckDBCompositeDataType;
+import sqlancer.duckdb.DuckDBSchema.DuckDBDataType;
+import sqlancer.duckdb.DuckDBSchema.DuckDBTable;
+import sqlancer.duckdb.DuckDBToStringVisitor;
+import sqlancer.duckdb.ast.DuckDBExpression;
+
+/**
+ * Measures the generation of random expressions by {@link DuckDBExpressionGenerator} and their rendering to SQL
+ * strings, on a synthetic table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuckDBExpressionGeneratorBenchmark {
+
+    private static final int NR_RENDERED_EXPRESSIONS = 1024;
+
+    private DuckDBExpressionGenerator gen;
+    private final List<DuckDBExpression> expressions = new ArrayList<>();
+    private int nextExpression;
+
+    @Setup
+    public void setup() {
+        MainOptions options = new MainOptions();
+        Randomly.initialize(options);
+        DuckDBGlobalState globalState = new DuckDBGlobalState();
+        globalState.setMainOptions(options);
+        globalState.setDbmsSpecificOptions(new DuckDBOptions());
+        globalState.setRandomly(new Randomly(0));
+        List<DuckDBColumn> columns = Arrays.asList(
+                new DuckDBColumn("c0", new DuckDBCompositeDataType(DuckDBDataType.INT, 4), false, true),
+                new DuckDBColumn("c1", new DuckDBCompositeDataType(DuckDBDataType.VARCHAR, 0), false, true),
+                new DuckDBColumn("c2", new DuckDBCompositeDataType(DuckDBDataType.BOOLEAN, 0), false, true),
+                new DuckDBColumn("c3", new DuckDBCompositeDataType(DuckDBDataType.FLOAT, 8), false, true));
+        DuckDBTable table = new DuckDBTable("t0", columns, false);
+        for (DuckDBColumn c : columns) {
+            c.setTable(table);
+        }
+        gen = new DuckDBExpressionGenerator(globalState).setColumns(columns);
+        while (expressions.size() < NR_RENDERED_EXPRESSIONS) {
+            DuckDBExpression expression = generateExpression();
+            if (expression != null) {
+                expressions.add(expression);
+            }
+        }
+    }
+
+    @Benchmark
+    public DuckDBExpression generateExpression() {
+        try {
+            return gen.generateExpression();
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public String renderExpression() {
+        nextExpression = (nextExpression + 1) % NR_RENDERED_EXPRESSIONS;
+        return DuckDBToStringVisitor.asString(expressions.get(nextExpression));
+    }
+
+}
@@ -0,0 +1,99 @@
+package sqlancer.postgres.gen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresOptions;
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.PostgresSchema.PostgresTable;
+import sqlancer.postgres.PostgresVisitor;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.ast.PostgresFunction.PostgresFunctionWithResult;
+import sqlancer.postgres.ast.PostgresFunctionWithUnknownResult;
+
+/**
+ * Measures the generation of random boolean expressions by {@link PostgresExpressionGenerator} and their rendering to
+ * SQL strings, on a synthetic table. All functions are treated as immutable, and collations are disabled, since both
+ * are otherwise read from the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostgresExpressionGeneratorBenchmark {
+
+    private static final int NR_RENDERED_EXPRESSIONS = 1024;
+
+    private PostgresExpressionGenerator gen;
+    private final List<PostgresExpression> expressions = new ArrayList<>();
+    private int nextExpression;
+
+    @Setup
+    public void setup() {
+        MainOptions options = new MainOptions();
+        Randomly.initialize(options);
+        PostgresOptions postgresOptions = new PostgresOptions();
+        postgresOptions.testCollations = false;
+        PostgresGlobalState globalState = new PostgresGlobalState();
+        globalState.setMainOptions(options);
+        globalState.setDbmsSpecificOptions(postgresOptions);
+        globalState.setRandomly(new Randomly(0));
+        for (PostgresFunctionWithResult function : PostgresFunctionWithResult.values()) {
+            globalState.addFunctionAndType(function.getName(), PostgresGlobalState.IMMUTABLE);
+        }
+        for (PostgresFunctionWithUnknownResult function : PostgresFunctionWithUnknownResult.values()) {
+            globalState.addFunctionAndType(function.getName(), PostgresGlobalState.IMMUTABLE);
+        }
+        globalState.setDefaultAllowedFunctionTypes();
+        List<PostgresColumn> columns = Arrays.asList(new PostgresColumn("c0", PostgresDataType.INT),
+                new PostgresColumn("c1", PostgresDataType.TEXT), new PostgresColumn("c2", PostgresDataType.BOOLEAN),
+                new PostgresColumn("c3", PostgresDataType.DECIMAL));
+        PostgresTable table = new PostgresTable("t0", columns, null, null, null, false, false);
+        for (PostgresColumn c : columns) {
+            c.setTable(table);
+        }
+        gen = new PostgresExpressionGenerator(globalState).setColumns(columns);
+        while (expressions.size() < NR_RENDERED_EXPRESSIONS) {
+            PostgresExpression expression = generateExpression();
+            if (expression != null) {
+                expressions.add(expression);
+            }
+        }
+    }
+
+    @Benchmark
+    public PostgresExpression generateExpression() {
+        try {
+            return gen.generateExpression(0, PostgresDataType.BOOLEAN);
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public String renderExpression() {
+        nextExpression = (nextExpression + 1) % NR_RENDERED_EXPRESSIONS;
+        return PostgresVisitor.asString(expressions.get(nextExpression));
+    }
+
+}
@@ -0,0 +1,91 @@
+package sqlancer.sqlite3.gen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Visitor;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.schema.SQLite3DataType;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column.SQLite3CollateSequence;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+
+/**
+ * Measures the generation of random expressions by {@link SQLite3ExpressionGenerator} and their rendering to SQL
+ * strings, on a synthetic table with one column per data type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLite3ExpressionGeneratorBenchmark {
+
+    private static final int NR_RENDERED_EXPRESSIONS = 1024;
+
+    private SQLite3ExpressionGenerator gen;
+    private final List<SQLite3Expression> expressions = new ArrayList<>();
+    private int nextExpression;
+
+    @Setup
+    public void setup() {
+        MainOptions options = new MainOptions();
+        Randomly.initialize(options);
+        SQLite3GlobalState globalState = new SQLite3GlobalState();
+        globalState.setMainOptions(options);
+        globalState.setDbmsSpecificOptions(new SQLite3Options());
+        globalState.setRandomly(new Randomly(0));
+        List<SQLite3Column> columns = Arrays.asList(
+                new SQLite3Column("c0", SQLite3DataType.INT, true, false, SQLite3CollateSequence.BINARY),
+                new SQLite3Column("c1", SQLite3DataType.TEXT, false, false, SQLite3CollateSequence.NOCASE),
+                new SQLite3Column("c2", SQLite3DataType.REAL, false, false, SQLite3CollateSequence.RTRIM),
+                new SQLite3Column("c3", SQLite3DataType.NONE, false, false, SQLite3CollateSequence.BINARY));
+        SQLite3Table table = new SQLite3Table("t0", columns, TableKind.MAIN, false, false, false, false);
+        for (SQLite3Column c : columns) {
+            c.setTable(table);
+        }
+        gen = new SQLite3ExpressionGenerator(globalState).setColumns(columns);
+        while (expressions.size() < NR_RENDERED_EXPRESSIONS) {
+            SQLite3Expression expression = generateExpression();
+            if (expression != null) {
+                expressions.add(expression);
+            }
+        }
+    }
+
+    @Benchmark
+    public SQLite3Expression generateExpression() {
+        try {
+            return gen.generateExpression();
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public String renderExpression() {
+        nextExpression = (nextExpression + 1) % NR_RENDERED_EXPRESSIONS;
+        return SQLite3Visitor.asString(expressions.get(nextExpression));
+    }
+
+}
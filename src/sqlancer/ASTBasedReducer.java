@@ -1,9 +1,17 @@
 package sqlancer;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
@@ -16,6 +24,7 @@ import sqlancer.transformations.RoundDoubleConstant;
 import sqlancer.transformations.SimplifyConstant;
 import sqlancer.transformations.SimplifyExpressions;
 import sqlancer.transformations.Transformation;
+import sqlancer.transformations.TransformationSet;
 
 public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection>
         implements Reducer<G> {
@@ -30,14 +39,34 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
     private List<Query<C>> reducedStatements;
     // statement after reduction.
 
+    // a transformation of the i-th statement does not change the statements before it
+    private final ReducerCheckpoint<G, O, C> checkpoint;
+
+    // SHA-256 digests of the candidates that are known not to trigger the bug
+    private final Set<ByteBuffer> rejectedCandidates = new HashSet<>();
+    // statements that a transformation could not be initialized with, for example, because JSQLParser cannot parse them
+    private final Map<Transformation, Set<String>> failedInits = new HashMap<>();
+
+    // only used if --reducer-threads is greater than 1
+    private ReducerWorkerPool<G, O, C> workers;
+    private int currentIndex;
+
     public ASTBasedReducer(DatabaseProvider<G, O, C> provider) {
         this.provider = provider;
+        this.checkpoint = new ReducerCheckpoint<>(provider);
     }
 
     @SuppressWarnings("unchecked")
-    private void updateStatements(String queryString, int index) {
+    private static <C extends SQLancerDBConnection> Query<C> toQuery(String queryString) {
         boolean couldAffectSchema = queryString.contains("CREATE TABLE") || queryString.contains("EXPLAIN");
-        reducedStatements.set(index, (Query<C>) new SQLQueryAdapter(queryString, couldAffectSchema));
+        return (Query<C>) new SQLQueryAdapter(queryString, couldAffectSchema);
+    }
+
+    private void updateStatements(String queryString, int index) {
+        reducedStatements.set(index, toQuery(queryString));
+        if (index < checkpoint.getPrefixLength()) {
+            checkpoint.invalidate();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -46,9 +75,12 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
         this.state = state;
         this.newGlobalState = newGlobalState;
         this.reproducer = reproducer;
+        checkpoint.invalidate();
+        rejectedCandidates.clear();
+        failedInits.clear();
 
-        long maxReduceTime = state.getOptions().getMaxStatementReduceTime();
-        long maxReduceSteps = state.getOptions().getMaxStatementReduceSteps();
+        long maxReduceTime = state.getOptions().getMaxASTReduceTime();
+        long maxReduceSteps = state.getOptions().getMaxASTReduceSteps();
 
         List<Query<?>> initialBugInducingStatements = state.getState().getStatements();
         newGlobalState.getState().setStatements(new ArrayList<>(initialBugInducingStatements));
@@ -63,22 +95,43 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
         transformations.add(new SimplifyExpressions());
         transformations.add(new SimplifyConstant());
         transformations.add(new RoundDoubleConstant());
+        TransformationSet transformationSet = new TransformationSet(transformations);
 
-        Transformation.setBugJudgement(() -> {
+        transformationSet.setBugJudgement(() -> {
             try {
                 return this.bugStillTriggers();
             } catch (Exception ignored) {
             }
             return false;
         });
+        int nrThreads = state.getOptions().getNrReducerThreads();
+        if (nrThreads > 1) {
+            workers = new ReducerWorkerPool<>(provider, newGlobalState, nrThreads);
+            transformationSet.setBatchBugJudgement(this::getFirstVariantThatTriggersBug, nrThreads);
+        }
 
-        boolean observeChange;
         reducedStatements = new ArrayList<>();
         for (Query<?> query : initialBugInducingStatements) {
             reducedStatements.add((Query<C>) query);
         }
 
         Instant startTime = Instant.now();
+        try {
+            reduceLoop(transformationSet, maxReduceTime, maxReduceSteps, startTime);
+        } finally {
+            if (workers != null) {
+                workers.close();
+                workers = null;
+            }
+        }
+
+        newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
+        newGlobalState.getLogger().logReduced(newGlobalState.getState());
+    }
+
+    private void reduceLoop(TransformationSet transformations, long maxReduceTime, long maxReduceSteps,
+            Instant startTime) {
+        boolean observeChange;
         reduceProcess: do {
             observeChange = false;
             for (Transformation t : transformations) {
@@ -91,11 +144,15 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
                     }
 
                     if (maxReduceSteps != MainOptions.NO_REDUCE_LIMIT
-                            && Transformation.getReduceSteps() >= maxReduceSteps) {
+                            && transformations.getReduceSteps() >= maxReduceSteps) {
                         break reduceProcess;
                     }
 
                     Query<?> query = reducedStatements.get(i);
+                    Set<String> failedStatements = failedInits.computeIfAbsent(t, k -> new HashSet<>());
+                    if (failedStatements.contains(query.getQueryString())) {
+                        continue;
+                    }
                     boolean initFlag = t.init(query.getQueryString());
                     int index = i;
                     t.setStatementChangedCallBack((statementString) -> {
@@ -103,42 +160,113 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
                     });
 
                     if (!initFlag) {
+                        failedStatements.add(query.getQueryString());
                         newGlobalState.getLogger()
                                 .logReducer("warning: failed parsing the statement at transformer : " + t);
                         continue;
                     }
+                    checkpoint.advance(newGlobalState, reducedStatements, i);
+                    currentIndex = i;
                     t.apply();
                     observeChange |= t.changed();
                 }
             }
         } while (observeChange);
-
-        newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
-        newGlobalState.getLogger().logReduced(newGlobalState.getState());
     }
 
     public boolean bugStillTriggers() throws Exception {
-        try (C con2 = provider.createDatabase(newGlobalState)) {
-            newGlobalState.setConnection(con2);
-            List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
-            newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
+        List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
+        ByteBuffer digest = getDigest(candidateStatements);
+        if (rejectedCandidates.contains(digest)) {
+            return false;
+        }
+        if (bugStillTriggers(newGlobalState, candidateStatements, checkpoint)) {
+            newGlobalState.getLogger().logReduced(newGlobalState.getState());
+            return true;
+        }
+        rejectedCandidates.add(digest);
+        return false;
+    }
 
-            for (Query<C> s : candidateStatements) {
+    /**
+     * Tests variants of the statement that is currently being transformed concurrently, skipping those that are known
+     * not to trigger the bug.
+     *
+     * @param variants
+     *            at most --reducer-threads variants of the current statement
+     *
+     * @return the index of the first variant that still triggers the bug, or -1 if none does
+     */
+    private int getFirstVariantThatTriggersBug(List<String> variants) {
+        List<Integer> untestedVariants = new ArrayList<>();
+        List<List<Query<C>>> candidates = new ArrayList<>();
+        List<ByteBuffer> digests = new ArrayList<>();
+        for (int i = 0; i < variants.size(); i++) {
+            List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
+            candidateStatements.set(currentIndex, toQuery(variants.get(i)));
+            ByteBuffer digest = getDigest(candidateStatements);
+            if (!rejectedCandidates.contains(digest)) {
+                untestedVariants.add(i);
+                candidates.add(candidateStatements);
+                digests.add(digest);
+            }
+        }
+        List<Boolean> results;
+        try {
+            results = workers.test(candidates, (workerState, candidate) -> {
                 try {
-                    s.execute(newGlobalState);
-                } catch (Throwable ignoredException) {
-                    // ignore
+                    return bugStillTriggers(workerState, candidate, null);
+                } catch (Exception e) {
+                    return false;
                 }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i)) {
+                newGlobalState.getState().setStatements(new ArrayList<>(candidates.get(i)));
+                newGlobalState.getLogger().logReduced(newGlobalState.getState());
+                return untestedVariants.get(i);
             }
+            rejectedCandidates.add(digests.get(i));
+        }
+        return -1;
+    }
+
+    private boolean bugStillTriggers(G globalState, List<Query<C>> candidateStatements,
+            ReducerCheckpoint<G, O, C> candidateCheckpoint) throws Exception {
+        int prefixLength = candidateCheckpoint == null ? 0 : candidateCheckpoint.getPrefixLength();
+        try (C con2 = candidateCheckpoint == null ? provider.createDatabase(globalState)
+                : candidateCheckpoint.connect(globalState)) {
+            globalState.setConnection(con2);
+            globalState.getState().setStatements(new ArrayList<>(candidateStatements));
+
+            ReducerCheckpoint.executeStatements(globalState,
+                    candidateStatements.subList(prefixLength, candidateStatements.size()));
             try {
-                if (reproducer.bugStillTriggers(newGlobalState)) {
-                    newGlobalState.getLogger().logReduced(newGlobalState.getState());
-                    return true;
-                }
+                return reproducer.bugStillTriggers(globalState);
             } catch (Throwable ignoredException) {
 
             }
         }
         return false;
     }
+
+    private static ByteBuffer getDigest(List<? extends Query<?>> statements) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+        for (Query<?> statement : statements) {
+            digest.update(statement.getQueryString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return ByteBuffer.wrap(digest.digest());
+    }
 }
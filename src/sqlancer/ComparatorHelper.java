@@ -3,18 +3,21 @@ package sqlancer;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLancerResultSet;
 
 public final class ComparatorHelper {
 
+    private static final Pattern TRAILING_ZEROS = Pattern.compile("[\\.]0+$");
+
     private ComparatorHelper() {
     }
 
@@ -38,6 +41,62 @@ public final class ComparatorHelper {
 
     public static List<String> getResultSetFirstColumnAsString(String queryString, ExpectedErrors errors,
             SQLGlobalState<?, ?> state) throws SQLException {
+        List<String> resultSet = new ArrayList<>();
+        readFirstColumn(queryString, errors, state, resultSet::add);
+        return resultSet;
+    }
+
+    /**
+     * Executes the query and folds the values of its first column into a {@link ResultMultiset}, without materializing
+     * the individual rows.
+     *
+     * @param queryString
+     *            the query to execute
+     * @param errors
+     *            the errors that are expected when executing the query
+     * @param state
+     *            the global state
+     *
+     * @return the multiset of the (canonicalized) values of the first column
+     *
+     * @throws SQLException
+     *             if reading the result set fails
+     */
+    public static ResultMultiset getResultSetFirstColumnAsMultiset(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state) throws SQLException {
+        ResultMultiset resultSet = new ResultMultiset();
+        readFirstColumn(queryString, errors, state, resultSet::add);
+        return resultSet;
+    }
+
+    /**
+     * Executes a query on another session to the database of the global state and returns the first column of its
+     * result. Unlike {@link #getResultSetFirstColumnAsMultiset(String, ExpectedErrors, SQLGlobalState)}, the query is
+     * not logged, so that this method can be called by a thread other than the one of the global state.
+     *
+     * @param queryString
+     *            the query to execute
+     * @param errors
+     *            the errors that the query is expected to fail with
+     * @param state
+     *            the global state, whose options are used
+     * @param session
+     *            the session to execute the query on
+     *
+     * @return the values of the first column
+     *
+     * @throws SQLException
+     *             if the result set cannot be read
+     */
+    public static ResultMultiset getResultSetFirstColumnAsMultiset(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state, SQLConnection session) throws SQLException {
+        ResultMultiset resultSet = new ResultMultiset();
+        readFirstColumn(queryString, errors, state.getOptions().canonicalizeSqlString(), session, resultSet::add);
+        return resultSet;
+    }
+
+    private static void readFirstColumn(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            Consumer<String> consumer) throws SQLException {
         if (state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
@@ -48,22 +107,21 @@ public final class ComparatorHelper {
                 e.printStackTrace();
             }
         }
-        boolean canonicalizeString = state.getOptions().canonicalizeSqlString();
+        readFirstColumn(queryString, errors, state.getOptions().canonicalizeSqlString(), state.getConnection(),
+                consumer);
+    }
+
+    private static void readFirstColumn(String queryString, ExpectedErrors errors, boolean canonicalizeString,
+            SQLConnection connection, Consumer<String> consumer) throws SQLException {
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors, true, canonicalizeString);
-        List<String> resultSet = new ArrayList<>();
         SQLancerResultSet result = null;
         try {
-            result = q.executeAndGet(state);
+            result = q.executeAndGet(connection);
             if (result == null) {
                 throw new IgnoreMeException();
             }
             while (result.next()) {
-                String resultTemp = result.getString(1);
-                if (resultTemp != null) {
-                    resultTemp = resultTemp.replaceAll("[\\.]0+$", ""); // Remove the trailing zeros as many DBMS treat
-                    // it as non-bugs
-                }
-                resultSet.add(resultTemp);
+                consumer.accept(removeTrailingZeros(result.getString(1)));
             }
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
@@ -82,11 +140,24 @@ public final class ComparatorHelper {
                 result.close();
             }
         }
-        return resultSet;
+    }
+
+    // Remove the trailing zeros as many DBMS treat it as non-bugs
+    private static String removeTrailingZeros(String value) {
+        if (value == null || value.indexOf('.') == -1) {
+            return value;
+        }
+        return TRAILING_ZEROS.matcher(value).replaceAll("");
     }
 
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
             String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
+        assumeResultSetsAreEqual(ResultMultiset.of(resultSet), ResultMultiset.of(secondResultSet),
+                originalQueryString, combinedString, state);
+    }
+
+    public static void assumeResultSetsAreEqual(ResultMultiset resultSet, ResultMultiset secondResultSet,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
         if (resultSet.size() != secondResultSet.size()) {
             String queryFormatString = "-- %s;" + System.lineSeparator() + "-- cardinality: %d"
                     + System.lineSeparator();
@@ -104,15 +175,10 @@ public final class ComparatorHelper {
             throw new AssertionError(assertionMessage);
         }
 
-        Set<String> firstHashSet = new HashSet<>(resultSet);
-        Set<String> secondHashSet = new HashSet<>(secondResultSet);
-
         boolean validateResultSizeOnly = state.getOptions().validateResultSizeOnly();
-        if (!validateResultSizeOnly && !firstHashSet.equals(secondHashSet)) {
-            Set<String> firstResultSetMisses = new HashSet<>(firstHashSet);
-            firstResultSetMisses.removeAll(secondHashSet);
-            Set<String> secondResultSetMisses = new HashSet<>(secondHashSet);
-            secondResultSetMisses.removeAll(firstHashSet);
+        if (!validateResultSizeOnly && !resultSet.containsSameValues(secondResultSet)) {
+            Set<String> firstResultSetMisses = resultSet.getValuesMissingIn(secondResultSet);
+            Set<String> secondResultSetMisses = secondResultSet.getValuesMissingIn(resultSet);
 
             String queryFormatString = "-- Query: \"%s\"; It misses: \"%s\"";
             String firstQueryString = String.format(queryFormatString, originalQueryString, firstResultSetMisses);
@@ -133,11 +199,16 @@ public final class ComparatorHelper {
             UnaryOperator<String> canonicalizationRule) {
         // Overloaded version of assumeResultSetsAreEqual that takes a canonicalization function which is applied to
         // both result sets before their comparison.
-        List<String> canonicalizedResultSet = resultSet.stream().map(canonicalizationRule).collect(Collectors.toList());
-        List<String> canonicalizedSecondResultSet = secondResultSet.stream().map(canonicalizationRule)
-                .collect(Collectors.toList());
-        assumeResultSetsAreEqual(canonicalizedResultSet, canonicalizedSecondResultSet, originalQueryString,
-                combinedString, state);
+        assumeResultSetsAreEqual(ResultMultiset.of(resultSet).map(canonicalizationRule),
+                ResultMultiset.of(secondResultSet).map(canonicalizationRule), originalQueryString, combinedString,
+                state);
+    }
+
+    public static void assumeResultSetsAreEqual(ResultMultiset resultSet, ResultMultiset secondResultSet,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state,
+            UnaryOperator<String> canonicalizationRule) {
+        assumeResultSetsAreEqual(resultSet.map(canonicalizationRule), secondResultSet.map(canonicalizationRule),
+                originalQueryString, combinedString, state);
     }
 
     public static List<String> getCombinedResultSet(String firstQueryString, String secondQueryString,
@@ -164,19 +235,52 @@ public final class ComparatorHelper {
     public static List<String> getCombinedResultSetNoDuplicates(String firstQueryString, String secondQueryString,
             String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
             ExpectedErrors errors) throws SQLException {
-        String unionString;
+        String unionString = getNoDuplicatesUnionString(firstQueryString, secondQueryString, thirdQueryString,
+                asUnion);
+        combinedString.add(unionString);
+        return getResultSetFirstColumnAsString(unionString, errors, state);
+    }
+
+    public static ResultMultiset getCombinedResultMultiset(String firstQueryString, String secondQueryString,
+            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
+            ExpectedErrors errors) throws SQLException {
+        ResultMultiset secondResultSet;
         if (asUnion) {
-            unionString = firstQueryString + " UNION " + secondQueryString + " UNION " + thirdQueryString;
+            String unionString = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
+                    + thirdQueryString;
+            combinedString.add(unionString);
+            secondResultSet = getResultSetFirstColumnAsMultiset(unionString, errors, state);
         } else {
-            unionString = "SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString
-                    + " UNION ALL " + thirdQueryString + ")";
+            secondResultSet = new ResultMultiset();
+            readFirstColumn(firstQueryString, errors, state, secondResultSet::add);
+            readFirstColumn(secondQueryString, errors, state, secondResultSet::add);
+            readFirstColumn(thirdQueryString, errors, state, secondResultSet::add);
+            combinedString.add(firstQueryString);
+            combinedString.add(secondQueryString);
+            combinedString.add(thirdQueryString);
         }
-        List<String> secondResultSet;
-        combinedString.add(unionString);
-        secondResultSet = getResultSetFirstColumnAsString(unionString, errors, state);
         return secondResultSet;
     }
 
+    public static ResultMultiset getCombinedResultMultisetNoDuplicates(String firstQueryString,
+            String secondQueryString, String thirdQueryString, List<String> combinedString, boolean asUnion,
+            SQLGlobalState<?, ?> state, ExpectedErrors errors) throws SQLException {
+        String unionString = getNoDuplicatesUnionString(firstQueryString, secondQueryString, thirdQueryString,
+                asUnion);
+        combinedString.add(unionString);
+        return getResultSetFirstColumnAsMultiset(unionString, errors, state);
+    }
+
+    private static String getNoDuplicatesUnionString(String firstQueryString, String secondQueryString,
+            String thirdQueryString, boolean asUnion) {
+        if (asUnion) {
+            return firstQueryString + " UNION " + secondQueryString + " UNION " + thirdQueryString;
+        } else {
+            return "SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
+                    + thirdQueryString + ")";
+        }
+    }
+
     public static String canonicalizeResultValue(String value) {
         if (value == null) {
             return value;
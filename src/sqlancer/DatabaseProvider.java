@@ -1,6 +1,9 @@
 package sqlancer;
 
+import java.util.List;
+
 import sqlancer.common.log.LoggableFactory;
+import sqlancer.common.query.Query;
 
 public interface DatabaseProvider<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection> {
 
@@ -46,6 +49,137 @@ public interface DatabaseProvider<G extends GlobalState<O, ?, C>, O extends DBMS
 
     C createDatabase(G globalState) throws Exception;
 
+    /**
+     * Creates the database of the given global state before it is generated and tested. If templates are used, the
+     * database can instead be created as a copy of the template for its database name, without creating an empty
+     * database first.
+     *
+     * @param globalState
+     *            the state whose database is created
+     *
+     * @return a connection to the database
+     *
+     * @throws Exception
+     *             if creating the database fails.
+     */
+    default C createOrCopyDatabase(G globalState) throws Exception {
+        return createDatabase(globalState);
+    }
+
+    /**
+     * Checks whether the state of a database can be saved as a checkpoint and later be restored. Reducers use
+     * checkpoints to execute the prefix of statements that all of their candidates share only once.
+     *
+     * @return true if {@link #createCheckpoint(GlobalState)} and {@link #restoreCheckpoint(GlobalState, List)} are
+     *         supported
+     */
+    default boolean supportsCheckpoints() {
+        return false;
+    }
+
+    /**
+     * Saves the current state of the database of the given global state, replacing the previous checkpoint of this
+     * database.
+     *
+     * @param globalState
+     *            the state whose connection is used to create the checkpoint
+     *
+     * @throws Exception
+     *             if creating the checkpoint fails.
+     */
+    default void createCheckpoint(G globalState) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Replaces the database of the given global state with its last checkpoint and connects to it.
+     *
+     * @param globalState
+     *            the state whose database is restored
+     * @param checkpointedStatements
+     *            the statements that were executed before the checkpoint was created, which can be used to restore
+     *            settings that are not part of the database, such as session variables
+     *
+     * @return a connection to the restored database
+     *
+     * @throws Exception
+     *             if restoring the checkpoint fails.
+     */
+    default C restoreCheckpoint(G globalState, List<Query<C>> checkpointedStatements) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether a generated database can be saved as a template, of which further databases are created as
+     * copies, instead of generating each of them from scratch.
+     *
+     * @return true if {@link #createTemplate(GlobalState)} and {@link #createDatabaseFromTemplate(GlobalState)} are
+     *         supported
+     */
+    default boolean supportsTemplates() {
+        return false;
+    }
+
+    /**
+     * Saves the database of the given global state, which has just been generated, as the template for its database
+     * name, replacing the previous template.
+     *
+     * @param globalState
+     *            the state whose database is saved; its statements are those that generated the database
+     *
+     * @return a connection to the database of the global state, which might differ from its current connection
+     *
+     * @throws Exception
+     *             if the template cannot be created, for example, because the database contains temporary tables.
+     */
+    default C createTemplate(G globalState) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates the database of the given global state as a copy of the template for its database name and connects to
+     * it. This method is called instead of {@link #createDatabase(GlobalState)}, so the global state has no connection
+     * yet.
+     *
+     * @param globalState
+     *            the state whose database is created; its statements are those that generated the template, which can
+     *            be used to restore settings that are not part of the database, such as session variables
+     *
+     * @return a connection to the copy of the template
+     *
+     * @throws Exception
+     *             if creating the copy fails.
+     */
+    default C createDatabaseFromTemplate(G globalState) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Drops the database of the given global state once it is no longer used. By default, nothing is done, and the
+     * database is only replaced when a database with the same name is created the next time.
+     *
+     * @param globalState
+     *            the state whose database is dropped; its connection has already been closed
+     *
+     * @throws Exception
+     *             if dropping the database fails.
+     */
+    default void dropDatabase(G globalState) throws Exception {
+    }
+
+    /**
+     * Drops the template for the database name of the given global state, once no further copies are created of it.
+     *
+     * @param globalState
+     *            the state whose database was saved as the template
+     *
+     * @throws Exception
+     *             if dropping the template fails.
+     */
+    default void dropTemplate(G globalState) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * The DBMS name is used to name the log directory and command to test the respective DBMS.
      *
@@ -1,9 +1,13 @@
 package sqlancer;
 
+import java.util.List;
+
+import sqlancer.common.query.BatchResult;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTable;
+import sqlancer.common.schema.RowCountEffect;
 
 public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends AbstractSchema<?, ?>, C extends SQLancerDBConnection> {
 
@@ -16,9 +20,22 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     private StateToReproduce state;
     private Main.QueryManager<C> manager;
     private String databaseName;
+    // the last statement executed by executeStatement(), and the last statement after which the schema was read
+    private Query<?> lastExecutedStatement;
+    private long nrExecutedStatements;
+    private Query<?> statementOfLastSchemaUpdate;
+    private boolean rowCountsTracked;
+    private long nrRowCountAccesses;
+    private long dataVersion;
 
     public void setConnection(C con) {
         this.databaseConnection = con;
+        dataVersion++;
+        if (schema != null) {
+            for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
+                table.recomputeCount();
+            }
+        }
     }
 
     public C getConnection() {
@@ -82,7 +99,18 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         this.databaseName = databaseName;
     }
 
+    Query<?> getLastExecutedStatement() {
+        return lastExecutedStatement;
+    }
+
+    // the number of statements executed through this global state, which includes those of batches
+    long getNrExecutedStatements() {
+        return nrExecutedStatements;
+    }
+
     private ExecutionTimer executePrologue(Query<?> q) throws Exception {
+        lastExecutedStatement = q;
+        nrExecutedStatements++;
         boolean logExecutionTime = getOptions().logExecutionTime();
         ExecutionTimer timer = null;
         if (logExecutionTime) {
@@ -110,6 +138,93 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         return success;
     }
 
+    /**
+     * Checks whether the statement can be executed as part of a batch by {@link #executeStatementBatch(List)}.
+     *
+     * @param q
+     *            the statement to check
+     *
+     * @return true if the statement can be batched
+     */
+    public boolean canBeBatched(Query<?> q) {
+        return false;
+    }
+
+    /**
+     * Executes statements, for which {@link #canBeBatched(Query)} holds, as a single batch. The statements are logged
+     * in their order, as if they had been executed by {@link #executeStatement(Query, String...)} one by one. If a
+     * statement of the batch fails and the DBMS does not execute the remaining statements, they are executed one by
+     * one.
+     *
+     * @param queries
+     *            the statements to execute
+     *
+     * @return whether each statement was executed successfully
+     *
+     * @throws Exception
+     *             if executing the batch fails.
+     */
+    public boolean[] executeStatementBatch(List<Query<C>> queries) throws Exception {
+        boolean[] success = new boolean[queries.size()];
+        ExecutionTimer[] timers = new ExecutionTimer[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            timers[i] = executePrologue(queries.get(i));
+        }
+        BatchResult result = executeBatch(queries, success);
+        int nrExecuted = result.getNrExecuted();
+        for (int i = 0; i < queries.size(); i++) {
+            Query<C> q = queries.get(i);
+            if (i < nrExecuted) {
+                if (result.getFailure() != null && i == nrExecuted - 1) {
+                    try {
+                        checkBatchFailure(q, result.getFailure());
+                    } catch (AssertionError e) {
+                        // the statements before were logged already, so that the bug can be reproduced
+                        getState().logStatement(q);
+                        throw e;
+                    }
+                }
+                manager.logExecuted(q, success[i]);
+            } else {
+                success[i] = manager.execute(q);
+            }
+            executeEpilogue(q, success[i], timers[i]);
+        }
+        return success;
+    }
+
+    /**
+     * Executes the statements as a single batch on the connection.
+     *
+     * @param queries
+     *            the statements to execute
+     * @param success
+     *            receives whether each executed statement was executed successfully
+     *
+     * @return the number of leading statements that were executed, and the exception of the last of them if it failed
+     *
+     * @throws Exception
+     *             if executing the batch fails.
+     */
+    protected BatchResult executeBatch(List<Query<C>> queries, boolean[] success) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks the exception with which a statement of a batch failed against the expected errors of the statement.
+     *
+     * @param q
+     *            the failed statement
+     * @param failure
+     *            the exception with which the statement failed
+     *
+     * @throws AssertionError
+     *             if the error is not expected.
+     */
+    protected void checkBatchFailure(Query<C> q, Exception failure) {
+        throw new UnsupportedOperationException();
+    }
+
     public SQLancerResultSet executeStatementAndGet(Query<C> q, String... fills) throws Exception {
         ExecutionTimer timer = executePrologue(q);
         SQLancerResultSet result = manager.executeAndGet(q, fills);
@@ -142,12 +257,105 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     }
 
     public void updateSchema() throws Exception {
+        long startNanos = System.nanoTime();
         setSchema(readSchema());
-        for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
-            table.recomputeCount();
+        Metrics.recordLatency(Metrics.SCHEMA_READ, System.nanoTime() - startNanos);
+        // tracked row counts of tables that are part of the new schema remain valid
+        boolean trackRowCounts = canTrackRowCounts();
+        if (!trackRowCounts || !rowCountsTracked) {
+            for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
+                table.recomputeCount();
+            }
+        }
+        rowCountsTracked = trackRowCounts;
+        statementOfLastSchemaUpdate = lastExecutedStatement;
+        dataVersion++;
+    }
+
+    /**
+     * Updates the schema after the given statement was executed, unless the schema has already been updated by
+     * {@link #executeStatement(Query, String...)} after executing it.
+     *
+     * @param q
+     *            the statement that was executed last
+     *
+     * @throws Exception
+     *             if reading the schema fails
+     */
+    public void updateSchemaAfter(Query<?> q) throws Exception {
+        if (q != lastExecutedStatement || statementOfLastSchemaUpdate != q) {
+            updateSchema();
         }
     }
 
     protected abstract S readSchema() throws Exception;
 
+    /**
+     * Whether the row counts of the tables can be maintained based on the number of rows that each statement changed,
+     * rather than being counted again after each schema update. This requires that statements change only the rows
+     * reflected by their update count, which is not the case, for example, with triggers, foreign keys, or conflict
+     * resolutions that delete rows or roll back the transaction.
+     *
+     * @return true if the row counts can be tracked, which is false by default
+     */
+    protected boolean canTrackRowCounts() {
+        return false;
+    }
+
+    /**
+     * Updates the tracked row counts of the tables and the data version after a statement was executed.
+     *
+     * @param q
+     *            the executed statement
+     * @param success
+     *            whether the statement was executed successfully
+     */
+    protected void updateRowCounts(Query<?> q, boolean success) {
+        RowCountEffect effect = RowCountEffect.of(q, success);
+        if (effect.hasNoEffect()) {
+            return;
+        }
+        dataVersion++;
+        // without tracking, the row counts are only counted again after the next schema update
+        if (schema == null || !rowCountsTracked) {
+            return;
+        }
+        AbstractTable<?, ?, ?> target = null;
+        for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
+            if (table.getName().equalsIgnoreCase(effect.getTableName()) && table.canTrackCount()) {
+                target = table;
+            }
+        }
+        // a statement with an unknown effect marks the row counts as stale, which are then counted again when accessed
+        for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
+            if (table == target && effect.isRowCountKnown()) {
+                table.changeCount(effect.getDelta());
+            } else if (target == null || table == target || !table.canTrackCount()) {
+                table.recomputeCount();
+            }
+        }
+    }
+
+    /**
+     * Gets a number that changes whenever the rows of the tables could have changed, that is, after each statement that
+     * could have added, removed, or updated rows, after each schema update, and when the connection is replaced. Rows
+     * read from the database can thus be reused as long as the data version is unchanged.
+     *
+     * @return the data version
+     */
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Decides whether a tracked row count should be compared with the actual number of rows, which is the case for
+     * every n-th access if --verify-row-counts is set to n.
+     *
+     * @return true if the rows should be counted
+     */
+    public boolean shouldVerifyRowCount() {
+        int interval = getOptions().getRowCountVerificationInterval();
+        return interval > 0 && rowCountsTracked && ++nrRowCountAccesses % interval == 0;
+    }
+
 }
@@ -0,0 +1,101 @@
+package sqlancer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds with a bounded relative error. A latency is counted in a bucket determined by
+ * its highest set bit and the {@value #SUB_BUCKET_BITS} bits below it, so that the width of each bucket is at most
+ * 1/16 of the latencies it counts. Each histogram is recorded by a single thread, but can be read by other threads.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int NR_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(Long.SIZE * NR_SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    static int getBucket(long nanos) {
+        if (nanos < NR_SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (nanos >>> shift) & (NR_SUB_BUCKETS - 1);
+        return (shift + 1) * NR_SUB_BUCKETS + subBucket;
+    }
+
+    // the largest latency counted in the given bucket
+    static long getBucketMax(int bucket) {
+        int shift = bucket / NR_SUB_BUCKETS - 1;
+        int subBucket = bucket % NR_SUB_BUCKETS;
+        if (shift < 0) {
+            return subBucket;
+        }
+        return ((long) (NR_SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        counts.incrementAndGet(getBucket(latency));
+        count.incrementAndGet();
+        if (latency > max.get()) {
+            max.set(latency);
+        }
+    }
+
+    /**
+     * Adds the latencies recorded by another histogram to this one.
+     *
+     * @param other
+     *            the histogram whose latencies are added
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long otherCount = other.counts.get(i);
+            if (otherCount != 0) {
+                counts.addAndGet(i, otherCount);
+            }
+        }
+        count.addAndGet(other.count.get());
+        if (other.max.get() > max.get()) {
+            max.set(other.max.get());
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Computes the latency below which the given percentage of the recorded latencies lie, up to the width of its
+     * bucket.
+     *
+     * @param percentile
+     *            the percentage, between 0 and 100
+     *
+     * @return the latency in nanoseconds, or 0 if no latency has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(getBucketMax(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+}
@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -17,6 +18,8 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -24,10 +27,12 @@ import java.util.concurrent.atomic.AtomicLong;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.JCommander.Builder;
 
+import sqlancer.MainOptions.ExecutorMode;
 import sqlancer.citus.CitusProvider;
 import sqlancer.clickhouse.ClickHouseProvider;
 import sqlancer.cnosdb.CnosDBProvider;
 import sqlancer.cockroachdb.CockroachDBProvider;
+import sqlancer.common.log.AsyncLogWriter;
 import sqlancer.common.log.Loggable;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
@@ -53,10 +58,6 @@ import sqlancer.yugabyte.ysql.YSQLProvider;
 public final class Main {
 
     public static final File LOG_DIRECTORY = new File("logs");
-    public static volatile AtomicLong nrQueries = new AtomicLong();
-    public static volatile AtomicLong nrDatabases = new AtomicLong();
-    public static volatile AtomicLong nrSuccessfulActions = new AtomicLong();
-    public static volatile AtomicLong nrUnsuccessfulActions = new AtomicLong();
     public static volatile AtomicLong threadsShutdown = new AtomicLong();
     static boolean progressMonitorStarted;
 
@@ -77,8 +78,8 @@ public final class Main {
         private File queryPlanFile;
         private File reduceFile;
         private FileWriter logFileWriter;
-        public FileWriter currentFileWriter;
-        private FileWriter queryPlanFileWriter;
+        public AsyncLogWriter currentFileWriter;
+        private AsyncLogWriter queryPlanFileWriter;
         private FileWriter reduceFileWriter;
         private Path reproduceFilePath;
 
@@ -175,30 +176,22 @@ public final class Main {
             return logFileWriter;
         }
 
-        public FileWriter getCurrentFileWriter() {
+        public AsyncLogWriter getCurrentFileWriter() {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
             if (currentFileWriter == null) {
-                try {
-                    currentFileWriter = new FileWriter(curFile, false);
-                } catch (IOException e) {
-                    throw new AssertionError(e);
-                }
+                currentFileWriter = new AsyncLogWriter(curFile, false);
             }
             return currentFileWriter;
         }
 
-        public FileWriter getQueryPlanFileWriter() {
+        public AsyncLogWriter getQueryPlanFileWriter() {
             if (!logQueryPlan) {
                 throw new UnsupportedOperationException();
             }
             if (queryPlanFileWriter == null) {
-                try {
-                    queryPlanFileWriter = new FileWriter(queryPlanFile, true);
-                } catch (IOException e) {
-                    throw new AssertionError(e);
-                }
+                queryPlanFileWriter = new AsyncLogWriter(queryPlanFile, true);
             }
             return queryPlanFileWriter;
         }
@@ -256,7 +249,7 @@ public final class Main {
                 throw new UnsupportedOperationException();
             }
             try {
-                getQueryPlanFileWriter().append(removeNamesFromQueryPlans(queryPlan));
+                getQueryPlanFileWriter().append(QueryPlanGuidance.normalize(queryPlan) + "\n");
                 queryPlanFileWriter.flush();
             } catch (IOException e) {
                 throw new AssertionError();
@@ -310,6 +303,7 @@ public final class Main {
             Loggable stackTrace = getStackTrace(reduce);
             FileWriter logFileWriter2 = getLogFileWriter();
             try {
+                syncLogs();
                 logFileWriter2.write(stackTrace.getLogString());
                 printState(logFileWriter2, state);
             } catch (IOException e) {
@@ -323,11 +317,25 @@ public final class Main {
             }
         }
 
+        // the bug is still logged if the current or query plan log could not be written
+        private void syncLogs() {
+            try {
+                if (currentFileWriter != null) {
+                    currentFileWriter.sync();
+                }
+                if (queryPlanFileWriter != null) {
+                    queryPlanFileWriter.sync();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
         private Loggable getStackTrace(Throwable e1) {
             return databaseProvider.getLoggableFactory().convertStacktraceToLoggable(e1);
         }
 
-        private void printState(FileWriter writer, StateToReproduce state) {
+        private void printState(Writer writer, StateToReproduce state) {
             StringBuilder sb = new StringBuilder();
 
             sb.append(databaseProvider.getLoggableFactory()
@@ -343,14 +351,6 @@ public final class Main {
             }
         }
 
-        private String removeNamesFromQueryPlans(String queryPlan) {
-            String result = queryPlan;
-            result = result.replaceAll("t[0-9]+", "t0"); // Avoid duplicate tables
-            result = result.replaceAll("v[0-9]+", "v0"); // Avoid duplicate views
-            result = result.replaceAll("i[0-9]+", "i0"); // Avoid duplicate indexes
-            return result + "\n";
-        }
-
         public Path getReproduceFilePath() {
             return reproduceFilePath;
         }
@@ -367,31 +367,36 @@ public final class Main {
         public boolean execute(Query<C> q, String... fills) throws Exception {
             boolean success;
             success = q.execute(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
+            logExecuted(q, success);
+            return success;
+        }
+
+        // logs a statement that has been executed on its own or as part of a batch
+        void logExecuted(Query<C> q, boolean success) {
+            Metrics.incrementSuccessfulStatements();
             if (globalState.getOptions().loggerPrintFailed() || success) {
                 globalState.getState().logStatement(q);
             }
-            return success;
         }
 
         public SQLancerResultSet executeAndGet(Query<C> q, String... fills) throws Exception {
             globalState.getState().logStatement(q);
             SQLancerResultSet result;
             result = q.executeAndGet(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
+            Metrics.incrementSuccessfulStatements();
             return result;
         }
 
         public void incrementSelectQueryCount() {
-            Main.nrQueries.addAndGet(1);
+            Metrics.incrementQueries();
         }
 
         public Long getSelectQueryCount() {
-            return Main.nrQueries.get();
+            return Metrics.getQueries();
         }
 
         public void incrementCreateDatabase() {
-            Main.nrDatabases.addAndGet(1);
+            Metrics.incrementDatabases();
         }
 
     }
@@ -409,6 +414,7 @@ public final class Main {
         private StateLogger logger;
         private StateToReproduce stateToRepro;
         private final Randomly r;
+        private ReductionService reductionService;
 
         public DBMSExecutor(DatabaseProvider<G, O, C> provider, MainOptions options, O dbmsSpecificOptions,
                 String databaseName, Randomly r) {
@@ -431,6 +437,10 @@ public final class Main {
             return command;
         }
 
+        void setReductionService(ReductionService reductionService) {
+            this.reductionService = reductionService;
+        }
+
         public void testConnection() throws Exception {
             G state = getInitializedGlobalState(options.getRandomSeed());
             try (SQLancerDBConnection con = provider.createDatabase(state)) {
@@ -442,13 +452,14 @@ public final class Main {
             G state = createGlobalState();
             stateToRepro = provider.getStateToReproduce(databaseName);
             stateToRepro.seedValue = r.getSeed();
+            stateToRepro.setMaxStatementsInMemory(options.getMaxStatementsInMemory());
             state.setState(stateToRepro);
             logger = new StateLogger(databaseName, provider, options);
             state.setRandomly(r);
             state.setDatabaseName(databaseName);
             state.setMainOptions(options);
             state.setDbmsSpecificOptions(command);
-            try (C con = provider.createDatabase(state)) {
+            try (C con = provider.createOrCopyDatabase(state)) {
                 QueryManager<C> manager = new QueryManager<>(state);
                 try {
                     stateToRepro.databaseVersion = con.getDatabaseVersion();
@@ -485,29 +496,14 @@ public final class Main {
                         logger.getReduceFileWriter().write("current oracle does not support experimental reducer.");
                         throw new IgnoreMeException();
                     }
-                    G newGlobalState = createGlobalState();
-                    newGlobalState.setState(stateToRepro);
-                    newGlobalState.setRandomly(r);
-                    newGlobalState.setDatabaseName(databaseName);
-                    newGlobalState.setMainOptions(options);
-                    newGlobalState.setDbmsSpecificOptions(command);
-                    QueryManager<C> newManager = new QueryManager<>(newGlobalState);
-                    newGlobalState.setStateLogger(new StateLogger(databaseName, provider, options));
-                    newGlobalState.setManager(newManager);
-
-                    Reducer<G> reducer = new StatementReducer<>(provider);
-                    reducer.reduce(state, reproducer, newGlobalState);
-
-                    if (options.reduceAST()) {
-                        Reducer<G> astBasedReducer = new ASTBasedReducer<>(provider);
-                        astBasedReducer.reduce(state, reproducer, newGlobalState);
-                    }
-
-                    try {
-                        logger.getReduceFileWriter().close();
-                        logger.reduceFileWriter = null;
-                    } catch (IOException e) {
-                        throw new AssertionError(e);
+                    Reproducer<G> bugReproducer = reproducer;
+                    if (reductionService == null) {
+                        reduce(stateToRepro, bugReproducer, r);
+                    } else {
+                        // the copy is not affected by the next database that this thread tests
+                        StateToReproduce reductionState = stateToRepro.copy();
+                        reductionService.submit(reductionState.getStatements().size(),
+                                () -> reduce(reductionState, bugReproducer, new Randomly(r.getSeed())));
                     }
 
                     throw new AssertionError("Found a potential bug, please check reducer log for detail.");
@@ -515,6 +511,33 @@ public final class Main {
             }
         }
 
+        private void reduce(StateToReproduce reductionState, Reproducer<G> reproducer, Randomly reductionRandomly)
+                throws Exception {
+            G newGlobalState = createGlobalState();
+            newGlobalState.setState(reductionState);
+            newGlobalState.setRandomly(reductionRandomly);
+            newGlobalState.setDatabaseName(databaseName);
+            newGlobalState.setMainOptions(options);
+            newGlobalState.setDbmsSpecificOptions(command);
+            QueryManager<C> newManager = new QueryManager<>(newGlobalState);
+            StateLogger reductionLogger = new StateLogger(databaseName, provider, options);
+            newGlobalState.setStateLogger(reductionLogger);
+            newGlobalState.setManager(newManager);
+
+            Reducer<G> reducer = new StatementReducer<>(provider);
+            reducer.reduce(newGlobalState, reproducer, newGlobalState);
+
+            if (options.reduceAST()) {
+                Reducer<G> astBasedReducer = new ASTBasedReducer<>(provider);
+                astBasedReducer.reduce(newGlobalState, reproducer, newGlobalState);
+            }
+
+            if (reductionLogger.reduceFileWriter != null) {
+                reductionLogger.reduceFileWriter.close();
+                reductionLogger.reduceFileWriter = null;
+            }
+        }
+
         private G getInitializedGlobalState(long seed) {
             G state = createGlobalState();
             stateToRepro = provider.getStateToReproduce(databaseName);
@@ -543,6 +566,7 @@ public final class Main {
         private final DatabaseProvider<G, O, C> provider;
         private final MainOptions options;
         private final O command;
+        private ReductionService reductionService;
 
         public DBMSExecutorFactory(DatabaseProvider<G, O, C> provider, MainOptions options) {
             this.provider = provider;
@@ -564,12 +588,20 @@ public final class Main {
 
         @SuppressWarnings("unchecked")
         public DBMSExecutor<G, O, C> getDBMSExecutor(String databaseName, Randomly r) {
+            DBMSExecutor<G, O, C> executor;
             try {
-                return new DBMSExecutor<G, O, C>(provider.getClass().getDeclaredConstructor().newInstance(), options,
-                        command, databaseName, r);
+                executor = new DBMSExecutor<G, O, C>(provider.getClass().getDeclaredConstructor().newInstance(),
+                        options, command, databaseName, r);
             } catch (Exception e) {
                 throw new AssertionError(e);
             }
+            executor.setReductionService(reductionService);
+            return executor;
+        }
+
+        // the bug-inducing databases of the executors are reduced by the service, if set
+        void setReductionService(ReductionService reductionService) {
+            this.reductionService = reductionService;
         }
 
         public DatabaseProvider<G, O, C> getProvider() {
@@ -598,21 +630,68 @@ public final class Main {
         }
 
         Randomly.initialize(options);
+        if (options.getLatencyFile() != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Metrics.writeLatencies(Paths.get(options.getLatencyFile()));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
         if (options.printProgressInformation()) {
-            startProgressMonitor();
+            startProgressMonitor(options.getExecutorMode(), options.getNumberConcurrentThreads());
             if (options.printProgressSummary()) {
+                long startMillis = System.currentTimeMillis();
                 Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
 
                     @Override
                     public void run() {
+                        double elapsedSeconds = Math.max(1, System.currentTimeMillis() - startMillis) / 1000d;
                         System.out.println("Overall execution statistics");
                         System.out.println("============================");
-                        System.out.println(formatInteger(nrQueries.get()) + " queries");
-                        System.out.println(formatInteger(nrDatabases.get()) + " databases");
+                        System.out.println(String.format("%,10d %s threads", options.getNumberConcurrentThreads(),
+                                options.getExecutorMode().toString().toLowerCase()));
+                        System.out.println(formatInteger(Metrics.getQueries()) + " queries");
+                        System.out.println(formatInteger(Metrics.getDatabases()) + " databases");
+                        System.out.println(String.format("%,10.2f queries/s", Metrics.getQueries() / elapsedSeconds));
                         System.out.println(
-                                formatInteger(nrSuccessfulActions.get()) + " successfully-executed statements");
-                        System.out.println(
-                                formatInteger(nrUnsuccessfulActions.get()) + " unsuccessfully-executed statements");
+                                String.format("%,10.2f databases/s", Metrics.getDatabases() / elapsedSeconds));
+                        System.out.println(formatInteger(Metrics.getSuccessfulStatements())
+                                + " successfully-executed statements");
+                        System.out.println(formatInteger(Metrics.getUnsuccessfulStatements())
+                                + " unsuccessfully-executed statements");
+                        printBreakdown("Queries per thread", Metrics.getQueriesPerThread());
+                        printBreakdown("Checks per test oracle", Metrics.getChecksPerOracle());
+                        printBreakdown("Ignored checks per test oracle", Metrics.getIgnoredChecksPerOracle());
+                        printBreakdown("New query plans per test oracle", Metrics.getNewQueryPlansPerOracle());
+                        printBreakdown("Successfully-executed statements per action",
+                                Metrics.getSuccessfulStatementsPerAction());
+                        printBreakdown("Unsuccessfully-executed statements per action",
+                                Metrics.getUnsuccessfulStatementsPerAction());
+                        printLatencies(Metrics.getLatencies());
+                    }
+
+                    private void printLatencies(Map<String, LatencyHistogram> latencies) {
+                        if (latencies.isEmpty()) {
+                            return;
+                        }
+                        System.out.println("Latencies (p50, p99, max):");
+                        latencies.forEach((name, histogram) -> System.out.println(String.format(
+                                "%s %s %s %s", formatNanos(histogram.getPercentile(50)),
+                                formatNanos(histogram.getPercentile(99)), formatNanos(histogram.getMax()), name)));
+                    }
+
+                    private String formatNanos(long nanos) {
+                        return String.format("%,10.3fms", nanos / 1_000_000d);
+                    }
+
+                    private void printBreakdown(String title, Map<String, Long> counts) {
+                        if (counts.isEmpty()) {
+                            return;
+                        }
+                        System.out.println(title + ":");
+                        counts.forEach((name, count) -> System.out.println(formatInteger(count) + " " + name));
                     }
 
                     private String formatInteger(long intValue) {
@@ -626,8 +705,16 @@ public final class Main {
             }
         }
 
-        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+        ExecutorService execService = createExecutorService(options);
+        final Semaphore connectionPermits = options.getMaxConcurrentConnections() == -1 ? null
+                : new Semaphore(options.getMaxConcurrentConnections(), true);
         DBMSExecutorFactory<?, ?, ?> executorFactory = nameToProvider.get(jc.getParsedCommand());
+        ReductionService reductionService = null;
+        if (options.useReducer() && options.getNrBackgroundReductions() > 0) {
+            reductionService = new ReductionService(options.getNrBackgroundReductions(),
+                    options.getBackgroundReductionQueueSize(), connectionPermits);
+            executorFactory.setReductionService(reductionService);
+        }
 
         if (options.performConnectionTest()) {
             try {
@@ -681,6 +768,14 @@ public final class Main {
                 private boolean run(MainOptions options, ExecutorService execService,
                         DBMSExecutorFactory<?, ?, ?> executorFactory, Randomly r, final String databaseName) {
                     DBMSExecutor<?, ?, ?> executor = executorFactory.getDBMSExecutor(databaseName, r);
+                    if (connectionPermits != null) {
+                        try {
+                            connectionPermits.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
                     try {
                         executor.run();
                         return true;
@@ -697,6 +792,9 @@ public final class Main {
                         }
                         return false;
                     } finally {
+                        if (connectionPermits != null) {
+                            connectionPermits.release();
+                        }
                         try {
                             if (options.logEachSelect()) {
                                 if (executor.getLogger().currentFileWriter != null) {
@@ -712,18 +810,49 @@ public final class Main {
             });
         }
         try {
+            long deadlineMillis = options.getTimeoutSeconds() == -1 ? Long.MAX_VALUE
+                    : System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(options.getTimeoutSeconds());
             if (options.getTimeoutSeconds() == -1) {
                 execService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
             } else {
                 execService.awaitTermination(options.getTimeoutSeconds(), TimeUnit.SECONDS);
             }
+            if (reductionService != null) {
+                // the bugs found before the timeout are reduced before the timeout as well
+                reductionService.awaitTermination(Math.max(0, deadlineMillis - System.currentTimeMillis()));
+            }
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        TemplateDatabases.dropAll();
 
         return someOneFails.get() ? options.getErrorExitCode() : 0;
     }
 
+    private static ExecutorService createExecutorService(MainOptions options) {
+        int nrThreads = options.getNumberConcurrentThreads();
+        if (options.getExecutorMode() == ExecutorMode.VIRTUAL) {
+            return Executors.newFixedThreadPool(nrThreads, getVirtualThreadFactory());
+        }
+        return Executors.newFixedThreadPool(nrThreads);
+    }
+
+    /**
+     * Virtual threads are only available as of Java 21, while SQLancer targets Java 11, which is why the factory is
+     * obtained reflectively (i.e., by calling Thread.ofVirtual().factory()).
+     *
+     * @return a factory that creates virtual threads
+     */
+    private static ThreadFactory getVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError("--executor VIRTUAL requires Java 21 or later, but SQLancer is running on Java "
+                    + System.getProperty("java.version"), e);
+        }
+    }
+
     /**
      * To register a new provider, it is necessary to implement the DatabaseProvider interface and add an additional
      * configuration file, see https://docs.oracle.com/javase/9/docs/api/java/util/ServiceLoader.html. Currently, we use
@@ -773,7 +902,7 @@ public final class Main {
         }
     }
 
-    private static synchronized void startProgressMonitor() {
+    private static synchronized void startProgressMonitor(ExecutorMode executorMode, int nrThreads) {
         if (progressMonitorStarted) {
             /*
              * it might be already started if, for example, the main method is called multiple times in a test (see
@@ -786,9 +915,11 @@ public final class Main {
         final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
         scheduler.scheduleAtFixedRate(new Runnable() {
 
+            private final long startMillis = System.currentTimeMillis();
             private long timeMillis = System.currentTimeMillis();
             private long lastNrQueries;
             private long lastNrDbs;
+            private final Map<String, Long> lastValidChecks = new HashMap<>();
 
             {
                 timeMillis = System.currentTimeMillis();
@@ -797,24 +928,53 @@ public final class Main {
             @Override
             public void run() {
                 long elapsedTimeMillis = System.currentTimeMillis() - timeMillis;
-                long currentNrQueries = nrQueries.get();
+                long currentNrQueries = Metrics.getQueries();
                 long nrCurrentQueries = currentNrQueries - lastNrQueries;
                 double throughput = nrCurrentQueries / (elapsedTimeMillis / 1000d);
-                long currentNrDbs = nrDatabases.get();
+                long currentNrDbs = Metrics.getDatabases();
                 long nrCurrentDbs = currentNrDbs - lastNrDbs;
                 double throughputDbs = nrCurrentDbs / (elapsedTimeMillis / 1000d);
-                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulActions.get()
-                        / (nrSuccessfulActions.get() + nrUnsuccessfulActions.get()));
+                long nrSuccessfulStatements = Metrics.getSuccessfulStatements();
+                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulStatements
+                        / (nrSuccessfulStatements + Metrics.getUnsuccessfulStatements()));
                 DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
                 Date date = new Date();
                 System.out.println(String.format(
                         "[%s] Executed %d queries (%d queries/s; %.2f/s dbs, successful statements: %2d%%). Threads shut down: %d.",
                         dateFormat.format(date), currentNrQueries, (int) throughput, throughputDbs,
                         successfulStatementsRatio, threadsShutdown.get()));
+                // the average since the start allows comparing runs with different executor modes
+                double totalSeconds = Math.max(1, System.currentTimeMillis() - startMillis) / 1000d;
+                System.out.println(String.format(
+                        "[%s] Throughput of %d %s threads since the start: %d queries/s (%.2f per thread); %.2f/s dbs.",
+                        dateFormat.format(date), nrThreads, executorMode.toString().toLowerCase(),
+                        (int) (currentNrQueries / totalSeconds), currentNrQueries / totalSeconds / nrThreads,
+                        currentNrDbs / totalSeconds));
+                printOracleStatistics(elapsedTimeMillis);
                 timeMillis = System.currentTimeMillis();
                 lastNrQueries = currentNrQueries;
                 lastNrDbs = currentNrDbs;
             }
+
+            // the statistics of each oracle of a combination of oracles, such as those scheduled by --oracle-scheduling
+            private void printOracleStatistics(long elapsedTimeMillis) {
+                Map<String, Metrics.OracleStatistics> statistics = Metrics.getOracleStatistics();
+                if (statistics.size() < 2) {
+                    return;
+                }
+                statistics.forEach((name, s) -> {
+                    long validChecks = s.getValidChecks();
+                    long checks = Math.max(1, s.getChecks());
+                    double validChecksPerSecond = (validChecks - lastValidChecks.getOrDefault(name, 0L))
+                            / (elapsedTimeMillis / 1000d);
+                    System.out.println(String.format("    %s: %d valid checks (%.1f/s), %d%% ignored, "
+                            + "%.3fms and %.1f statements per check, %d new query plans", name, validChecks,
+                            validChecksPerSecond, 100 * s.getIgnoredChecks() / checks,
+                            s.getNanos() / 1_000_000d / checks, (double) s.getStatements() / checks,
+                            s.getNewQueryPlans()));
+                    lastValidChecks.put(name, validChecks);
+                });
+            }
         }, 5, 5, TimeUnit.SECONDS);
     }
 
@@ -9,6 +9,15 @@ import sqlancer.Randomly.StringGenerationStrategy;
 
 @Parameters(separators = "=", commandDescription = "Options applicable to all DBMS")
 public class MainOptions {
+
+    public enum ExecutorMode {
+        PLATFORM, VIRTUAL
+    }
+
+    public enum OracleScheduling {
+        ROUND_ROBIN, VALID_CHECKS_PER_SECOND, VALID_CHECKS_PER_STATEMENT, NEW_QUERY_PLANS_PER_SECOND
+    }
+
     public static final int NO_SET_PORT = -1;
     public static final int NO_REDUCE_LIMIT = -1;
     public static final MainOptions DEFAULT_OPTIONS = new MainOptions();
@@ -20,6 +29,14 @@ public class MainOptions {
             "--num-threads" }, description = "How many threads should run concurrently to test separate databases")
     private int nrConcurrentThreads = 16; // NOPMD
 
+    @Parameter(names = {
+            "--executor" }, description = "The kind of threads that run the workers (VIRTUAL requires Java 21 or later)")
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM; // NOPMD
+
+    @Parameter(names = {
+            "--max-connections" }, description = "The maximum number of database connections that are open concurrently across all threads (-1 for no limit)")
+    private int maxConcurrentConnections = -1; // NOPMD
+
     @Parameter(names = {
             "--random-seed" }, description = "A seed value != -1 that can be set to make the query and database generation deterministic")
     private long randomSeed = -1; // NOPMD
@@ -66,6 +83,18 @@ public class MainOptions {
     @Parameter(names = "--qpg-selection-probability", description = "The probability (0-1) of the random selection of mutators. A higher value (>0.5) favors exploration over exploitation. (requires --qpg-enable)")
     private static double qpgProbability = 0.7;
 
+    @Parameter(names = "--qpg-plan-pool-file", description = "A file from which the query plans found so far and the rewards of the mutators are loaded, and to which they are written when exiting SQLancer, so that QPG can be resumed (requires --qpg-enable)")
+    private String qpgPlanPoolFile;
+
+    @Parameter(names = "--qpg-max-replans", description = "The maximum number of queries whose query plans are obtained again after a mutation, which are sampled from the queries that refer to the mutated tables. 0 obtains the query plans of all of these queries (requires --qpg-enable)")
+    private int qpgMaxReplans = 100;
+
+    @Parameter(names = "--oracle-scheduling", description = "How a combination of test oracles chooses the oracle of each check: ROUND_ROBIN alternates between them, and the other objectives choose the oracle that is expected to yield the most valid checks per second or per statement, or the most new query plans per second with QPG")
+    private OracleScheduling oracleScheduling = OracleScheduling.ROUND_ROBIN; // NOPMD
+
+    @Parameter(names = "--dqp-sessions", description = "The number of additional sessions to the database on which the DQP oracle executes the variants of a query concurrently. 0 executes them one after another on the connection of the thread")
+    private int nrDQPSessions; // NOPMD
+
     @Parameter(names = "--username", description = "The user name used to log into the DBMS")
     private String userName = "sqlancer"; // NOPMD
 
@@ -102,6 +131,21 @@ public class MainOptions {
     @Parameter(names = "--test-only-nonempty-tables", description = "Test only databases each of whose tables contain at least a single row", arity = 1)
     private boolean testOnlyWithMoreThanZeroRows; // NOPMD
 
+    @Parameter(names = "--verify-row-counts", description = "Compare every n-th access of a row count that is tracked based on the rows changed by each statement with the result of SELECT COUNT(*) (0 to disable)")
+    private int rowCountVerificationInterval; // NOPMD
+
+    @Parameter(names = "--template-database-uses", description = "The number of databases that are created as copies of a generated template database, each followed by a few random statements, before a new template is generated; only supported by some DBMS (1 to generate each database from scratch)")
+    private int nrTemplateDatabaseUses = 1; // NOPMD
+
+    @Parameter(names = "--max-statements-in-memory", description = "The maximum number of logged statements per database that are kept in memory; older statements are moved to a temporary file and are only read back to log or reduce a bug (0 to keep all statements in memory)")
+    private int maxStatementsInMemory; // NOPMD
+
+    @Parameter(names = "--latency-file", description = "A CSV file to which the median, 99th percentile, and maximum latency of each kind of statement, test oracle, and schema read are written when exiting SQLancer")
+    private String latencyFile; // NOPMD
+
+    @Parameter(names = "--statement-batch-size", description = "The maximum number of consecutive INSERT statements that are sent to the DBMS as a single batch; only supported by some DBMS (1 to send each statement on its own)")
+    private int statementBatchSize = 1; // NOPMD
+
     @Parameter(names = "--pqs-test-aggregates", description = "Partially test aggregate functions when all tables contain only a single row.", arity = 1)
     private boolean testAggregateFunctions; // NOPMD
 
@@ -135,14 +179,23 @@ public class MainOptions {
     @Parameter(names = "--statement-reducer-max-steps", description = "EXPERIMENTAL Maximum steps the statement reducer will do")
     private long maxStatementReduceSteps = NO_REDUCE_LIMIT; // NOPMD
 
-    @Parameter(names = "--statement-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the AST-based reducer will do")
-    private long maxASTReduceTime = NO_REDUCE_LIMIT; // NOPMD
+    @Parameter(names = "--statement-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the statement reducer will do")
+    private long maxStatementReduceTime = NO_REDUCE_LIMIT; // NOPMD
+
+    @Parameter(names = "--reducer-threads", description = "EXPERIMENTAL Number of candidate reductions the reducers test concurrently, each on a separate database")
+    private int nrReducerThreads = 1; // NOPMD
+
+    @Parameter(names = "--background-reductions", description = "EXPERIMENTAL Number of bug-inducing databases that are reduced concurrently in the background, while the threads that found the bugs continue testing. 0 reduces a database on the thread that found its bug")
+    private int nrBackgroundReductions = 1; // NOPMD
+
+    @Parameter(names = "--background-reduction-queue-size", description = "EXPERIMENTAL Number of bug-inducing databases that wait for or are in a background reduction, beyond which the thread that found a bug reduces its database")
+    private int backgroundReductionQueueSize = 16; // NOPMD
 
     @Parameter(names = "--ast-reducer-max-steps", description = "EXPERIMENTAL Maximum steps the AST-based reducer will do")
     private long maxASTReduceSteps = NO_REDUCE_LIMIT; // NOPMD
 
-    @Parameter(names = "--ast-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the statement reducer will do")
-    private long maxStatementReduceTime = NO_REDUCE_LIMIT; // NOPMD
+    @Parameter(names = "--ast-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the AST-based reducer will do")
+    private long maxASTReduceTime = NO_REDUCE_LIMIT; // NOPMD
 
     @Parameter(names = "--validate-result-size-only", description = "Should validate result size only and skip comparing content of the result set ", arity = 1)
     private boolean validateResultSizeOnly = false; // NOPMD
@@ -162,6 +215,14 @@ public class MainOptions {
         return nrConcurrentThreads;
     }
 
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    public int getMaxConcurrentConnections() {
+        return maxConcurrentConnections;
+    }
+
     public boolean logEachSelect() {
         return logEachSelect;
     }
@@ -211,6 +272,22 @@ public class MainOptions {
         return qpgProbability;
     }
 
+    public String getQPGPlanPoolFile() {
+        return qpgPlanPoolFile;
+    }
+
+    public int getQPGMaxReplans() {
+        return qpgMaxReplans;
+    }
+
+    public OracleScheduling getOracleScheduling() {
+        return oracleScheduling;
+    }
+
+    public int getNrDQPSessions() {
+        return nrDQPSessions;
+    }
+
     public int getNrQueries() {
         return nrQueries;
     }
@@ -327,6 +404,18 @@ public class MainOptions {
         return maxStatementReduceTime;
     }
 
+    public int getNrReducerThreads() {
+        return nrReducerThreads;
+    }
+
+    public int getNrBackgroundReductions() {
+        return nrBackgroundReductions;
+    }
+
+    public int getBackgroundReductionQueueSize() {
+        return backgroundReductionQueueSize;
+    }
+
     public long getMaxASTReduceSteps() {
         return maxASTReduceSteps;
     }
@@ -343,4 +432,24 @@ public class MainOptions {
         return canonicalizeSqlString;
     }
 
+    public int getRowCountVerificationInterval() {
+        return rowCountVerificationInterval;
+    }
+
+    public int getNrTemplateDatabaseUses() {
+        return nrTemplateDatabaseUses;
+    }
+
+    public int getMaxStatementsInMemory() {
+        return maxStatementsInMemory;
+    }
+
+    public String getLatencyFile() {
+        return latencyFile;
+    }
+
+    public int getStatementBatchSize() {
+        return statementBatchSize;
+    }
+
 }
@@ -0,0 +1,343 @@
+package sqlancer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import sqlancer.common.oracle.CompositeTestOracle;
+import sqlancer.common.oracle.TestOracle;
+
+/**
+ * Counts the queries, databases, and statements of all threads. The counters are incremented for every statement by
+ * every thread, so they are {@link LongAdder}s, which do not contend with each other, and only their sums, which are
+ * read by the progress monitor, are more expensive to compute. For the same reason, each thread records latencies in
+ * its own histograms, which are merged when they are read.
+ */
+public final class Metrics {
+
+    /**
+     * The checks of a test oracle by all threads: how many of them were valid or ignored, and how much time and how
+     * many statements they took.
+     */
+    public static final class OracleStatistics {
+        private final LongAdder validChecks = new LongAdder();
+        private final LongAdder ignoredChecks = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder newQueryPlans = new LongAdder();
+
+        public long getValidChecks() {
+            return validChecks.sum();
+        }
+
+        public long getIgnoredChecks() {
+            return ignoredChecks.sum();
+        }
+
+        public long getChecks() {
+            return getValidChecks() + getIgnoredChecks();
+        }
+
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getNewQueryPlans() {
+            return newQueryPlans.sum();
+        }
+
+        /**
+         * Counts a check and records its duration and the number of statements it executed.
+         *
+         * @param valid
+         *            whether the check was valid
+         * @param checkNanos
+         *            the duration of the check
+         * @param nrStatements
+         *            the number of statements that the check executed
+         */
+        public void recordCheck(boolean valid, long checkNanos, long nrStatements) {
+            (valid ? validChecks : ignoredChecks).increment();
+            nanos.add(checkNanos);
+            statements.add(nrStatements);
+        }
+
+        public void recordNewQueryPlan() {
+            newQueryPlans.increment();
+        }
+    }
+
+    /**
+     * The latency category of reading the schema of a database.
+     */
+    public static final String SCHEMA_READ = "schema read";
+
+    private static final LongAdder QUERIES = new LongAdder();
+    private static final LongAdder DATABASES = new LongAdder();
+    private static final LongAdder SUCCESSFUL_STATEMENTS = new LongAdder();
+    private static final LongAdder UNSUCCESSFUL_STATEMENTS = new LongAdder();
+
+    private static final ConcurrentMap<String, LongAdder> QUERIES_PER_THREAD = new ConcurrentHashMap<>();
+    private static final ThreadLocal<LongAdder> THREAD_QUERIES = ThreadLocal
+            .withInitial(() -> counter(QUERIES_PER_THREAD, Thread.currentThread().getName()));
+    // the statements executed by the current thread, which determine the statements of an oracle's check
+    private static final ThreadLocal<long[]> THREAD_STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ConcurrentMap<Class<?>, OracleStatistics> ORACLE_STATISTICS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Object, LongAdder> SUCCESSFUL_STATEMENTS_PER_ACTION = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Object, LongAdder> UNSUCCESSFUL_STATEMENTS_PER_ACTION = new ConcurrentHashMap<>();
+
+    private static final List<Map<Object, LatencyHistogram>> ALL_THREAD_LATENCIES = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<ConcurrentMap<Object, LatencyHistogram>> THREAD_LATENCIES = ThreadLocal
+            .withInitial(() -> {
+                ConcurrentMap<Object, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+                ALL_THREAD_LATENCIES.add(latencies);
+                return latencies;
+            });
+
+    private Metrics() {
+    }
+
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        return counter;
+    }
+
+    // actions are named by their enum constants and test oracles by their classes
+    private static String getName(Object key) {
+        return key instanceof Class ? ((Class<?>) key).getSimpleName() : key.toString();
+    }
+
+    public static void incrementQueries() {
+        QUERIES.increment();
+        THREAD_QUERIES.get().increment();
+    }
+
+    public static void incrementDatabases() {
+        DATABASES.increment();
+    }
+
+    public static void incrementSuccessfulStatements() {
+        SUCCESSFUL_STATEMENTS.increment();
+        THREAD_STATEMENTS.get()[0]++;
+    }
+
+    public static void incrementUnsuccessfulStatements() {
+        UNSUCCESSFUL_STATEMENTS.increment();
+        THREAD_STATEMENTS.get()[0]++;
+    }
+
+    /**
+     * Gets the number of statements that the current thread has executed so far, so that the statements of a check
+     * can be determined as the difference before and after it. Statements executed by other threads on behalf of the
+     * current thread, for example, on the sessions of DQP, are not included.
+     *
+     * @return the number of successfully and unsuccessfully executed statements
+     */
+    public static long getStatementsOfCurrentThread() {
+        return THREAD_STATEMENTS.get()[0];
+    }
+
+    /**
+     * Counts a check of the given test oracle, and records its latency if it is valid, that is, if it did not throw an
+     * {@link IgnoreMeException}. A {@link CompositeTestOracle} records the checks of the oracles it is composed of
+     * instead.
+     *
+     * @param oracle
+     *            the oracle whose check has been executed
+     * @param valid
+     *            whether the check was valid
+     * @param nanos
+     *            the duration of the check
+     * @param nrStatements
+     *            the number of statements that the check executed
+     */
+    public static void recordOracleCheck(TestOracle<?> oracle, boolean valid, long nanos, long nrStatements) {
+        if (oracle instanceof CompositeTestOracle) {
+            return;
+        }
+        getOracleStatistics(oracle).recordCheck(valid, nanos, nrStatements);
+        if (valid) {
+            recordLatency(oracle.getClass(), nanos);
+        }
+    }
+
+    /**
+     * Counts a query plan that no thread had observed before and that was found by the last check of the given test
+     * oracle, which is the last check of one of its oracles for a {@link CompositeTestOracle}.
+     *
+     * @param oracle
+     *            the oracle whose check has been executed
+     */
+    public static void recordNewQueryPlan(TestOracle<?> oracle) {
+        TestOracle<?> checkedOracle = oracle;
+        if (oracle instanceof CompositeTestOracle) {
+            CompositeTestOracle<?> compositeOracle = (CompositeTestOracle<?>) oracle;
+            compositeOracle.recordNewQueryPlan();
+            checkedOracle = compositeOracle.getLastOracle();
+        }
+        getOracleStatistics(checkedOracle).recordNewQueryPlan();
+    }
+
+    public static OracleStatistics getOracleStatistics(TestOracle<?> oracle) {
+        OracleStatistics statistics = ORACLE_STATISTICS.get(oracle.getClass());
+        if (statistics == null) {
+            statistics = ORACLE_STATISTICS.computeIfAbsent(oracle.getClass(), c -> new OracleStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Counts a statement generated by the given action and records its latency, in addition to the statement counts of
+     * all actions.
+     *
+     * @param action
+     *            the action that generated the statement
+     * @param success
+     *            whether the statement was executed successfully
+     * @param nanos
+     *            the duration of the statement's execution
+     */
+    public static void recordActionStatement(Object action, boolean success, long nanos) {
+        counter(success ? SUCCESSFUL_STATEMENTS_PER_ACTION : UNSUCCESSFUL_STATEMENTS_PER_ACTION, action).increment();
+        recordLatency(action, nanos);
+    }
+
+    /**
+     * Records a latency in the histogram of the current thread for the given category.
+     *
+     * @param category
+     *            an action, the class of a test oracle, or another category such as {@link #SCHEMA_READ}
+     * @param nanos
+     *            the latency
+     */
+    public static void recordLatency(Object category, long nanos) {
+        ConcurrentMap<Object, LatencyHistogram> latencies = THREAD_LATENCIES.get();
+        LatencyHistogram histogram = latencies.get(category);
+        if (histogram == null) {
+            histogram = latencies.computeIfAbsent(category, c -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public static long getQueries() {
+        return QUERIES.sum();
+    }
+
+    public static long getDatabases() {
+        return DATABASES.sum();
+    }
+
+    public static long getSuccessfulStatements() {
+        return SUCCESSFUL_STATEMENTS.sum();
+    }
+
+    public static long getUnsuccessfulStatements() {
+        return UNSUCCESSFUL_STATEMENTS.sum();
+    }
+
+    public static Map<String, Long> getQueriesPerThread() {
+        return sums(QUERIES_PER_THREAD);
+    }
+
+    public static Map<String, Long> getChecksPerOracle() {
+        return sums(OracleStatistics::getValidChecks);
+    }
+
+    public static Map<String, Long> getIgnoredChecksPerOracle() {
+        return sums(OracleStatistics::getIgnoredChecks);
+    }
+
+    public static Map<String, Long> getNewQueryPlansPerOracle() {
+        return sums(OracleStatistics::getNewQueryPlans);
+    }
+
+    /**
+     * Gets the statistics of the test oracles that have been checked so far.
+     *
+     * @return the statistics of each test oracle, by the name of its class
+     */
+    public static Map<String, OracleStatistics> getOracleStatistics() {
+        Map<String, OracleStatistics> statistics = new TreeMap<>();
+        ORACLE_STATISTICS.forEach((oracle, s) -> statistics.put(getName(oracle), s));
+        return statistics;
+    }
+
+    public static Map<String, Long> getSuccessfulStatementsPerAction() {
+        return sums(SUCCESSFUL_STATEMENTS_PER_ACTION);
+    }
+
+    public static Map<String, Long> getUnsuccessfulStatementsPerAction() {
+        return sums(UNSUCCESSFUL_STATEMENTS_PER_ACTION);
+    }
+
+    // the non-zero counts of the oracles
+    private static Map<String, Long> sums(ToLongFunction<OracleStatistics> count) {
+        Map<String, Long> sums = new TreeMap<>();
+        ORACLE_STATISTICS.forEach((oracle, statistics) -> {
+            long value = count.applyAsLong(statistics);
+            if (value != 0) {
+                sums.merge(getName(oracle), value, Long::sum);
+            }
+        });
+        return sums;
+    }
+
+    private static <K> Map<String, Long> sums(Map<K, LongAdder> counters) {
+        Map<String, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> sums.merge(getName(key), counter.sum(), Long::sum));
+        return sums;
+    }
+
+    /**
+     * Merges the latency histograms of all threads.
+     *
+     * @return the merged histogram of each category, by the name of the category
+     */
+    public static Map<String, LatencyHistogram> getLatencies() {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        for (Map<Object, LatencyHistogram> threadLatencies : ALL_THREAD_LATENCIES) {
+            threadLatencies.forEach((category, histogram) -> latencies
+                    .computeIfAbsent(getName(category), c -> new LatencyHistogram()).add(histogram));
+        }
+        return latencies;
+    }
+
+    /**
+     * Writes the merged latency histograms as CSV, with one line per category that contains the number of recorded
+     * latencies and their median, 99th percentile, and maximum in microseconds.
+     *
+     * @param file
+     *            the file to write to, which is replaced
+     *
+     * @throws IOException
+     *             if writing the file fails.
+     */
+    public static void writeLatencies(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("category,count,p50_us,p99_us,max_us\n");
+            for (Map.Entry<String, LatencyHistogram> entry : getLatencies().entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                writer.write(String.format("%s,%d,%d,%d,%d%n", entry.getKey(), histogram.getCount(),
+                        histogram.getPercentile(50) / 1000, histogram.getPercentile(99) / 1000,
+                        histogram.getMax() / 1000));
+            }
+        }
+    }
+
+}
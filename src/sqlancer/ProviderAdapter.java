@@ -1,14 +1,15 @@
 package sqlancer;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import sqlancer.StateToReproduce.OracleRunReproductionState;
-import sqlancer.common.DBMSCommon;
 import sqlancer.common.oracle.CompositeTestOracle;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.common.schema.AbstractSchema;
@@ -18,14 +19,39 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
 
     private final Class<G> globalClass;
     private final Class<O> optionClass;
+    // whether createOrCopyDatabase created the database as a copy of a template, which only needs to be mutated
+    private boolean copiedFromTemplate;
 
-    // Variables for QPG
-    Map<String, String> queryPlanPool = new HashMap<>();
-    static double[] weightedAverageReward; // static variable for sharing across all threads
+    // Variables for QPG; the plans found by all threads and the rewards are kept by QueryPlanGuidance
+    Map<Long, PooledQuery> queryPlanPool = new HashMap<>();
     int currentSelectRewards;
     int currentSelectCounts;
     int currentMutationOperator = -1;
 
+    // QPG: a query of the query plan pool, with the tables and views that it refers to
+    private static final class PooledQuery {
+        private final String selectStr;
+        private final Set<String> tables;
+
+        PooledQuery(String selectStr) {
+            this.selectStr = selectStr;
+            this.tables = QueryPlanGuidance.getReferencedTables(selectStr);
+        }
+
+        // the plan of a query on a view depends on the tables of the view, which are not known
+        boolean isAffectedBy(Set<String> mutatedTables) {
+            if (mutatedTables.isEmpty()) {
+                return true;
+            }
+            for (String table : tables) {
+                if (table.startsWith("v") || mutatedTables.contains(table)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     protected ProviderAdapter(Class<G> globalClass, Class<O> optionClass) {
         this.globalClass = globalClass;
         this.optionClass = optionClass;
@@ -49,7 +75,7 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     @Override
     public Reproducer<G> generateAndTestDatabase(G globalState) throws Exception {
         try {
-            generateDatabase(globalState);
+            generateOrCopyDatabase(globalState);
             checkViewsAreValid(globalState);
             globalState.getManager().incrementCreateDatabase();
 
@@ -57,10 +83,16 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
             for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
                 try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
                     assert localState != null;
+                    long startStatements = Metrics.getStatementsOfCurrentThread();
+                    long startNanos = System.nanoTime();
                     try {
                         oracle.check();
                         globalState.getManager().incrementSelectQueryCount();
+                        Metrics.recordOracleCheck(oracle, true, System.nanoTime() - startNanos,
+                                Metrics.getStatementsOfCurrentThread() - startStatements);
                     } catch (IgnoreMeException ignored) {
+                        Metrics.recordOracleCheck(oracle, false, System.nanoTime() - startNanos,
+                                Metrics.getStatementsOfCurrentThread() - startStatements);
                     } catch (AssertionError e) {
                         Reproducer<G> reproducer = oracle.getLastReproducer();
                         if (reproducer != null) {
@@ -108,14 +140,61 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
 
     public abstract void generateDatabase(G globalState) throws Exception;
 
+    /**
+     * Executes a few random statements on a copy of a template database, so that the copies of a template differ from
+     * each other.
+     *
+     * @param globalState
+     *            the state whose database is a copy of a template
+     *
+     * @throws Exception
+     *             if executing the statements fails.
+     */
+    protected void mutateTemplateCopy(G globalState) throws Exception {
+    }
+
+    @Override
+    public C createOrCopyDatabase(G globalState) throws Exception {
+        if (globalState.getOptions().getNrTemplateDatabaseUses() > 1 && supportsTemplates()) {
+            C con = TemplateDatabases.copy(globalState.getDatabaseName(), globalState.getState(),
+                    () -> createDatabaseFromTemplate(globalState));
+            if (con != null) {
+                copiedFromTemplate = true;
+                return con;
+            }
+        }
+        return createDatabase(globalState);
+    }
+
+    // generates the database from scratch, or mutates it if it was created as a copy of the template for its name
+    private void generateOrCopyDatabase(G globalState) throws Exception {
+        if (copiedFromTemplate) {
+            globalState.updateSchema();
+            mutateTemplateCopy(globalState);
+            return;
+        }
+        generateDatabase(globalState);
+        int nrTemplateUses = globalState.getOptions().getNrTemplateDatabaseUses();
+        if (nrTemplateUses > 1 && supportsTemplates()) {
+            String databaseName = globalState.getDatabaseName();
+            try {
+                globalState.setConnection(createTemplate(globalState));
+                TemplateDatabases.put(databaseName, globalState.getState(), nrTemplateUses - 1,
+                        () -> dropTemplate(globalState));
+            } catch (SQLException e) {
+                // the database cannot be used as a template, so the next database is generated from scratch
+                TemplateDatabases.remove(databaseName);
+            }
+        }
+    }
+
     // QPG: entry function
     @Override
     public void generateAndTestDatabaseWithQueryPlanGuidance(G globalState) throws Exception {
-        if (weightedAverageReward == null) {
-            weightedAverageReward = initializeWeightedAverageReward(); // Same length as the list of mutators
-        }
+        // Same length as the list of mutators
+        QueryPlanGuidance.initialize(globalState.getOptions(), this::initializeWeightedAverageReward);
         try {
-            generateDatabase(globalState);
+            generateOrCopyDatabase(globalState);
             checkViewsAreValid(globalState);
             globalState.getManager().incrementCreateDatabase();
 
@@ -126,18 +205,25 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
                 while (executedQueryCount < globalState.getOptions().getNrQueries()) {
                     try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
                         assert localState != null;
+                        long startStatements = Metrics.getStatementsOfCurrentThread();
+                        long startNanos = System.nanoTime();
                         try {
                             oracle.check();
+                            long checkNanos = System.nanoTime() - startNanos;
+                            long checkStatements = Metrics.getStatementsOfCurrentThread() - startStatements;
                             String query = oracle.getLastQueryString();
                             executedQueryCount += 1;
                             if (addQueryPlan(query, globalState)) {
                                 numOfNoNewQueryPlans = 0;
+                                Metrics.recordNewQueryPlan(oracle);
                             } else {
                                 numOfNoNewQueryPlans++;
                             }
                             globalState.getManager().incrementSelectQueryCount();
+                            Metrics.recordOracleCheck(oracle, true, checkNanos, checkStatements);
                         } catch (IgnoreMeException e) {
-
+                            Metrics.recordOracleCheck(oracle, false, System.nanoTime() - startNanos,
+                                    Metrics.getStatementsOfCurrentThread() - startStatements);
                         }
                         localState.executedWithoutError();
                     }
@@ -154,31 +240,41 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     }
 
     // QPG: mutate tables for a new database state
-    private synchronized boolean mutateTables(G globalState) throws Exception {
+    private boolean mutateTables(G globalState) throws Exception {
         // Update rewards based on a set of newly generated queries in last iteration
         if (currentMutationOperator != -1) {
-            weightedAverageReward[currentMutationOperator] += ((double) currentSelectRewards
-                    / (double) currentSelectCounts) * globalState.getOptions().getQPGk();
+            QueryPlanGuidance.addToReward(currentMutationOperator, ((double) currentSelectRewards
+                    / (double) currentSelectCounts) * globalState.getOptions().getQPGk());
         }
         currentMutationOperator = -1;
 
         // Choose mutator based on the rewards
         int selectedActionIndex = 0;
         if (Randomly.getPercentage() < globalState.getOptions().getQPGProbability()) {
-            selectedActionIndex = globalState.getRandomly().getInteger(0, weightedAverageReward.length);
+            selectedActionIndex = globalState.getRandomly().getInteger(0, QueryPlanGuidance.getNrMutators());
         } else {
-            selectedActionIndex = DBMSCommon.getMaxIndexInDoubleArray(weightedAverageReward);
+            selectedActionIndex = QueryPlanGuidance.getMaxRewardIndex();
         }
         int reward = 0;
+        int nrReplans = 0;
 
         try {
+            long nrStatementsBefore = globalState.getNrExecutedStatements();
             executeMutator(selectedActionIndex, globalState);
+            // a mutator that is not executed as a single statement might affect any table; the mutation is determined
+            // before invalid views are dropped, which executes further statements
+            Set<String> mutatedTables = globalState.getNrExecutedStatements() - nrStatementsBefore != 1
+                    ? Collections.emptySet()
+                    : QueryPlanGuidance.getReferencedTables(globalState.getLastExecutedStatement().getQueryString());
             checkViewsAreValid(globalState); // Remove the invalid views
-            reward = checkQueryPlan(globalState);
+            List<Long> replanned = sampleAffectedQueries(mutatedTables, globalState);
+            nrReplans = replanned.size();
+            reward = checkQueryPlan(replanned, globalState);
         } catch (IgnoreMeException | AssertionError e) {
         } finally {
-            // Update rewards based on existing queries associated with the query plan pool
-            updateReward(selectedActionIndex, (double) reward / (double) queryPlanPool.size(), globalState);
+            // Update rewards based on the queries of the query plan pool whose plans were obtained again
+            updateReward(selectedActionIndex, nrReplans == 0 ? 0 : (double) reward / (double) nrReplans,
+                    globalState);
             currentMutationOperator = selectedActionIndex;
         }
 
@@ -197,30 +293,55 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         }
 
         currentSelectCounts += 1;
-        if (queryPlanPool.containsKey(queryPlan)) {
+        long fingerprint = QueryPlanGuidance.getFingerprint(queryPlan);
+        if (queryPlanPool.containsKey(fingerprint)) {
             return false;
-        } else {
-            queryPlanPool.put(queryPlan, selectStr);
+        }
+        queryPlanPool.put(fingerprint, new PooledQuery(selectStr));
+        // a plan that another thread has already found is not new
+        if (QueryPlanGuidance.addFingerprint(fingerprint)) {
             currentSelectRewards += 1;
             return true;
         }
+        return false;
+    }
+
+    // QPG: sample at most --qpg-max-replans queries of the query plan pool whose plans might have been changed by
+    // modifying the given tables, which are all tables if none is given, so that the cost of a mutation is bounded
+    private List<Long> sampleAffectedQueries(Set<String> mutatedTables, G globalState) {
+        List<Long> affected = new ArrayList<>();
+        for (Map.Entry<Long, PooledQuery> item : queryPlanPool.entrySet()) {
+            if (item.getValue().isAffectedBy(mutatedTables)) {
+                affected.add(item.getKey());
+            }
+        }
+        int maxReplans = globalState.getOptions().getQPGMaxReplans();
+        if (maxReplans == 0 || affected.size() <= maxReplans) {
+            return affected;
+        }
+        // a partial Fisher-Yates shuffle that moves the sample to the front
+        for (int i = 0; i < maxReplans; i++) {
+            Collections.swap(affected, i, globalState.getRandomly().getInteger(i, affected.size()));
+        }
+        return affected.subList(0, maxReplans);
     }
 
-    // Obtain the reward of the current action based on the queries associated with the query plan pool
-    private int checkQueryPlan(G globalState) throws Exception {
+    // Obtain the reward of the current action based on the given queries of the query plan pool
+    private int checkQueryPlan(List<Long> fingerprints, G globalState) throws Exception {
         int newQueryPlanFound = 0;
-        HashMap<String, String> modifiedQueryPlan = new HashMap<>();
-        for (Iterator<Map.Entry<String, String>> it = queryPlanPool.entrySet().iterator(); it.hasNext();) {
-            Map.Entry<String, String> item = it.next();
-            String queryPlan = item.getKey();
-            String selectStr = item.getValue();
-            String newQueryPlan = getQueryPlan(selectStr, globalState);
+        HashMap<Long, PooledQuery> modifiedQueryPlan = new HashMap<>();
+        for (long fingerprint : fingerprints) {
+            PooledQuery query = queryPlanPool.get(fingerprint);
+            String newQueryPlan = getQueryPlan(query.selectStr, globalState);
             if (newQueryPlan.isEmpty()) { // Invalid query
-                it.remove();
-            } else if (!queryPlan.equals(newQueryPlan)) { // A query plan has been changed
-                it.remove();
-                modifiedQueryPlan.put(newQueryPlan, selectStr);
-                if (!queryPlanPool.containsKey(newQueryPlan)) { // A new query plan is found
+                queryPlanPool.remove(fingerprint);
+                continue;
+            }
+            long newFingerprint = QueryPlanGuidance.getFingerprint(newQueryPlan);
+            if (fingerprint != newFingerprint) { // A query plan has been changed
+                queryPlanPool.remove(fingerprint);
+                modifiedQueryPlan.put(newFingerprint, query);
+                if (QueryPlanGuidance.addFingerprint(newFingerprint)) { // A new query plan is found
                     newQueryPlanFound++;
                 }
             }
@@ -231,8 +352,8 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
 
     // QPG: update the reward of current action
     private void updateReward(int actionIndex, double reward, G globalState) {
-        weightedAverageReward[actionIndex] += (reward - weightedAverageReward[actionIndex])
-                * globalState.getOptions().getQPGk();
+        double k = globalState.getOptions().getQPGk();
+        QueryPlanGuidance.updateReward(actionIndex, average -> average + (reward - average) * k);
     }
 
     // QPG: initialize the weighted average reward of all mutation operators (required implementation in specific DBMS)
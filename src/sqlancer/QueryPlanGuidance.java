@@ -0,0 +1,194 @@
+package sqlancer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import sqlancer.common.DBMSCommon;
+
+/**
+ * The state of Query Plan Guidance (QPG) that is shared by all threads: the fingerprints of the query plans observed so
+ * far, and the weighted average reward of each mutation operator. A fingerprint is a 64-bit hash of a query plan whose
+ * table, view, and index names are normalized, so that a plan found by one thread is not new to any other thread.
+ *
+ * If --qpg-plan-pool-file is set, the state is loaded from the file when QPG starts and written back when SQLancer
+ * exits, so that a long campaign can be resumed without learning the plans and rewards again.
+ */
+final class QueryPlanGuidance {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("t[0-9]+");
+    private static final Pattern VIEW_NAME = Pattern.compile("v[0-9]+");
+    private static final Pattern INDEX_NAME = Pattern.compile("i[0-9]+");
+    private static final Pattern REFERENCED_NAME = Pattern.compile("\\b[tv][0-9]+\\b");
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final String REWARDS_PREFIX = "rewards";
+
+    private static final Set<Long> FINGERPRINTS = ConcurrentHashMap.newKeySet();
+    // the rewards as the bits of doubles, so that they can be updated atomically
+    private static volatile AtomicLongArray rewards;
+
+    private QueryPlanGuidance() {
+    }
+
+    /**
+     * Initializes the rewards of the mutation operators when QPG is used for the first time, and loads the state from
+     * the plan pool file if it exists.
+     *
+     * @param options
+     *            the options, which determine the plan pool file
+     * @param initialRewards
+     *            computes the initial rewards of the mutation operators of the DBMS
+     */
+    static synchronized void initialize(MainOptions options, Supplier<double[]> initialRewards) {
+        if (rewards != null) {
+            return;
+        }
+        double[] initial = initialRewards.get();
+        Path file = options.getQPGPlanPoolFile() == null ? null : Paths.get(options.getQPGPlanPoolFile());
+        if (file != null && Files.exists(file)) {
+            try {
+                load(file, initial);
+            } catch (IOException | NumberFormatException e) {
+                throw new AssertionError("cannot read the QPG plan pool file " + file, e);
+            }
+        }
+        AtomicLongArray initializedRewards = new AtomicLongArray(initial.length);
+        for (int i = 0; i < initial.length; i++) {
+            initializedRewards.set(i, Double.doubleToRawLongBits(initial[i]));
+        }
+        rewards = initializedRewards;
+        if (file != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    save(file);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+    }
+
+    static String normalize(String queryPlan) {
+        String result = TABLE_NAME.matcher(queryPlan).replaceAll("t0"); // Avoid duplicate tables
+        result = VIEW_NAME.matcher(result).replaceAll("v0"); // Avoid duplicate views
+        return INDEX_NAME.matcher(result).replaceAll("i0"); // Avoid duplicate indexes
+    }
+
+    static long getFingerprint(String queryPlan) {
+        String normalized = normalize(queryPlan);
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = (hash ^ normalized.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Determines the tables and views that a statement refers to by their generated names, such as t0 and v1.
+     *
+     * @param statement
+     *            the statement
+     *
+     * @return the names of the tables and views, which is empty if the statement refers to none of them by name
+     */
+    static Set<String> getReferencedTables(String statement) {
+        Set<String> names = new HashSet<>();
+        Matcher matcher = REFERENCED_NAME.matcher(statement);
+        while (matcher.find()) {
+            names.add(matcher.group());
+        }
+        return names;
+    }
+
+    /**
+     * Adds the fingerprint of a query plan to those observed by all threads.
+     *
+     * @param fingerprint
+     *            the fingerprint of the query plan
+     *
+     * @return true if no thread has observed the query plan before
+     */
+    static boolean addFingerprint(long fingerprint) {
+        return FINGERPRINTS.add(fingerprint);
+    }
+
+    static int getNrMutators() {
+        return rewards.length();
+    }
+
+    static int getMaxRewardIndex() {
+        AtomicLongArray currentRewards = rewards;
+        double[] values = new double[currentRewards.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.longBitsToDouble(currentRewards.get(i));
+        }
+        return DBMSCommon.getMaxIndexInDoubleArray(values);
+    }
+
+    static void addToReward(int index, double delta) {
+        updateReward(index, reward -> reward + delta);
+    }
+
+    static void updateReward(int index, DoubleUnaryOperator update) {
+        AtomicLongArray currentRewards = rewards;
+        long previous;
+        long next;
+        do {
+            previous = currentRewards.get(index);
+            next = Double.doubleToRawLongBits(update.applyAsDouble(Double.longBitsToDouble(previous)));
+        } while (!currentRewards.compareAndSet(index, previous, next));
+    }
+
+    // the first line contains the rewards, and each further line a fingerprint
+    private static void load(Path file, double[] initialRewards) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line = reader.readLine();
+            if (line != null && line.startsWith(REWARDS_PREFIX)) {
+                String[] values = line.substring(REWARDS_PREFIX.length()).trim().split(" ");
+                // rewards of other mutation operators, for example, of another DBMS, are not used
+                if (values.length == initialRewards.length) {
+                    for (int i = 0; i < values.length; i++) {
+                        initialRewards[i] = Double.parseDouble(values[i]);
+                    }
+                }
+                line = reader.readLine();
+            }
+            while (line != null) {
+                if (!line.isEmpty()) {
+                    FINGERPRINTS.add(Long.parseUnsignedLong(line, 16));
+                }
+                line = reader.readLine();
+            }
+        }
+    }
+
+    private static void save(Path file) throws IOException {
+        AtomicLongArray currentRewards = rewards;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(REWARDS_PREFIX);
+            for (int i = 0; i < currentRewards.length(); i++) {
+                writer.write(" " + Double.longBitsToDouble(currentRewards.get(i)));
+            }
+            writer.newLine();
+            for (Long fingerprint : FINGERPRINTS) {
+                writer.write(Long.toHexString(fingerprint));
+                writer.newLine();
+            }
+        }
+    }
+
+}
@@ -6,9 +6,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.function.Supplier;
 
+/**
+ * Generates the random values of a test run. Each thread has a generator, which is a {@link SplittableRandom}, as it is
+ * neither synchronized nor shared between threads, and which is created with the seed of the last {@link Randomly}
+ * that the thread created, so that the values are reproducible. The static methods use the generator of the current
+ * thread, while the methods of an instance use the generator that the instance is bound to, without looking it up.
+ */
 public final class Randomly {
 
     private static StringGenerationStrategy stringGenerationStrategy = StringGenerationStrategy.SOPHISTICATED;
@@ -23,8 +29,10 @@ public final class Randomly {
     private final List<byte[]> cachedBytes = new ArrayList<>();
     private Supplier<String> provider;
 
-    private static final ThreadLocal<Random> THREAD_RANDOM = new ThreadLocal<>();
+    private static final ThreadLocal<SplittableRandom> THREAD_RANDOM = new ThreadLocal<>();
     private long seed;
+    private final SplittableRandom random;
+    private final Thread owner;
 
     private void addToCache(long val) {
         if (useCaching && cachedLongs.size() < cacheSize && !cachedLongs.contains(val)) {
@@ -54,7 +62,7 @@ public final class Randomly {
         if (!useCaching || cachedLongs.isEmpty()) {
             return null;
         } else {
-            return Randomly.fromList(cachedLongs);
+            return selectFromList(getRandom(), cachedLongs);
         }
     }
 
@@ -62,7 +70,7 @@ public final class Randomly {
         if (!useCaching || cachedIntegers.isEmpty()) {
             return null;
         } else {
-            return Randomly.fromList(cachedIntegers);
+            return selectFromList(getRandom(), cachedIntegers);
         }
     }
 
@@ -70,10 +78,11 @@ public final class Randomly {
         if (!useCaching) {
             return null;
         }
-        if (Randomly.getBoolean() && !cachedLongs.isEmpty()) {
-            return (double) Randomly.fromList(cachedLongs);
+        SplittableRandom random = getRandom();
+        if (random.nextBoolean() && !cachedLongs.isEmpty()) {
+            return (double) selectFromList(random, cachedLongs);
         } else if (!cachedDoubles.isEmpty()) {
-            return Randomly.fromList(cachedDoubles);
+            return selectFromList(random, cachedDoubles);
         } else {
             return null;
         }
@@ -83,16 +92,17 @@ public final class Randomly {
         if (!useCaching) {
             return null;
         }
-        if (Randomly.getBoolean() && !cachedLongs.isEmpty()) {
-            return String.valueOf(Randomly.fromList(cachedLongs));
-        } else if (Randomly.getBoolean() && !cachedDoubles.isEmpty()) {
-            return String.valueOf(Randomly.fromList(cachedDoubles));
-        } else if (Randomly.getBoolean() && !cachedBytes.isEmpty()
+        SplittableRandom random = getRandom();
+        if (random.nextBoolean() && !cachedLongs.isEmpty()) {
+            return String.valueOf(selectFromList(random, cachedLongs));
+        } else if (random.nextBoolean() && !cachedDoubles.isEmpty()) {
+            return String.valueOf(selectFromList(random, cachedDoubles));
+        } else if (random.nextBoolean() && !cachedBytes.isEmpty()
                 && stringGenerationStrategy == StringGenerationStrategy.SOPHISTICATED) {
-            return new String(Randomly.fromList(cachedBytes));
+            return new String(selectFromList(random, cachedBytes));
         } else if (!cachedStrings.isEmpty()) {
-            String randomString = Randomly.fromList(cachedStrings);
-            if (Randomly.getBoolean()) {
+            String randomString = selectFromList(random, cachedStrings);
+            if (random.nextBoolean()) {
                 return randomString;
             } else {
                 return stringGenerationStrategy.transformCachedString(this, randomString);
@@ -102,19 +112,28 @@ public final class Randomly {
         }
     }
 
-    private static boolean cacheProbability() {
-        return useCaching && getNextLong(0, 3) == 1;
+    private static boolean cacheProbability(SplittableRandom random) {
+        return useCaching && random.nextInt(3) == 1;
     }
 
     // CACHING END
 
     public static <T> T fromList(List<T> list) {
-        return list.get((int) getNextLong(0, list.size()));
+        return selectFromList(getThreadRandom(), list);
+    }
+
+    private static <T> T selectFromList(SplittableRandom random, List<T> list) {
+        return list.get(random.nextInt(list.size()));
     }
 
     @SafeVarargs
     public static <T> T fromOptions(T... options) {
-        return options[getNextInt(0, options.length)];
+        return selectOption(getThreadRandom(), options);
+    }
+
+    @SafeVarargs
+    private static <T> T selectOption(SplittableRandom random, T... options) {
+        return options[random.nextInt(options.length)];
     }
 
     @SafeVarargs
@@ -176,37 +195,62 @@ public final class Randomly {
     }
 
     public static int smallNumber() {
+        return smallNumber(getThreadRandom());
+    }
+
+    private static int smallNumber(SplittableRandom random) {
         // no need to cache for small numbers
-        return (int) (Math.abs(getThreadRandom().get().nextGaussian())) * 2;
+        return (int) (Math.abs(nextGaussian(random))) * 2;
+    }
+
+    // the polar method, which java.util.Random uses as well
+    private static double nextGaussian(SplittableRandom random) {
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * random.nextDouble() - 1;
+            v2 = 2 * random.nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * Math.sqrt(-2 * Math.log(s) / s);
     }
 
     public static boolean getBoolean() {
-        return getThreadRandom().get().nextBoolean();
+        return getThreadRandom().nextBoolean();
     }
 
     public static double getPercentage() {
-        return getThreadRandom().get().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
-    private static ThreadLocal<Random> getThreadRandom() {
-        if (THREAD_RANDOM.get() == null) {
+    private static SplittableRandom getThreadRandom() {
+        SplittableRandom threadRandom = THREAD_RANDOM.get();
+        if (threadRandom == null) {
             // a static method has been called, before Randomly was instantiated
-            THREAD_RANDOM.set(new Random());
+            threadRandom = new SplittableRandom();
+            THREAD_RANDOM.set(threadRandom);
         }
-        return THREAD_RANDOM;
+        return threadRandom;
+    }
+
+    // the generator of an instance is not thread-safe, so other threads use their own generator
+    private SplittableRandom getRandom() {
+        return Thread.currentThread() == owner ? random : getThreadRandom();
     }
 
     public long getInteger() {
-        if (smallBiasProbability()) {
-            return Randomly.fromOptions(-1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L, 0L);
+        SplittableRandom random = getRandom();
+        if (smallBiasProbability(random)) {
+            return selectOption(random, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L, 0L);
         } else {
-            if (cacheProbability()) {
+            if (cacheProbability(random)) {
                 Long l = getFromLongCache();
                 if (l != null) {
                     return l;
                 }
             }
-            long nextLong = getThreadRandom().get().nextInt();
+            long nextLong = random.nextInt();
             addToCache(nextLong);
             return nextLong;
         }
@@ -243,10 +287,11 @@ public final class Randomly {
 
             @Override
             public String getString(Randomly r) {
-                if (smallBiasProbability()) {
-                    return Randomly.fromOptions("TRUE", "FALSE", "0.0", "-0.0", "1e500", "-1e500");
+                SplittableRandom random = r.getRandom();
+                if (smallBiasProbability(random)) {
+                    return selectOption(random, "TRUE", "FALSE", "0.0", "-0.0", "1e500", "-1e500");
                 }
-                if (cacheProbability()) {
+                if (cacheProbability(random)) {
                     String s = r.getFromStringCache();
                     if (s != null) {
                         return s;
@@ -259,29 +304,29 @@ public final class Randomly {
 
                 int chars = getStringLength(r);
                 for (int i = 0; i < chars; i++) {
-                    if (Randomly.getBooleanWithRatherLowProbability()) {
+                    if (rareProbability(random)) {
                         char val = (char) r.getInteger();
                         if (val != 0) {
                             sb.append(val);
                         }
                     } else {
-                        sb.append(ALPHABET.charAt(getNextInt(0, n)));
+                        sb.append(ALPHABET.charAt(random.nextInt(n)));
                     }
                 }
-                while (Randomly.getBooleanWithSmallProbability()) {
+                while (smallBiasProbability(random)) {
                     String[][] pairs = { { "{", "}" }, { "[", "]" }, { "(", ")" } };
-                    int idx = (int) Randomly.getNotCachedInteger(0, pairs.length);
-                    int left = (int) Randomly.getNotCachedInteger(0, sb.length() + 1);
+                    int idx = getNextInt(random, 0, pairs.length);
+                    int left = getNextInt(random, 0, sb.length() + 1);
                     sb.insert(left, pairs[idx][0]);
-                    int right = (int) Randomly.getNotCachedInteger(left + 1, sb.length() + 1);
+                    int right = getNextInt(random, left + 1, sb.length() + 1);
                     sb.insert(right, pairs[idx][1]);
                 }
                 if (r.provider != null) {
-                    while (Randomly.getBooleanWithSmallProbability()) {
+                    while (smallBiasProbability(random)) {
                         if (sb.length() == 0) {
                             sb.append(r.provider.get());
                         } else {
-                            sb.insert((int) Randomly.getNotCachedInteger(0, sb.length()), r.provider.get());
+                            sb.insert(getNextInt(random, 0, sb.length()), r.provider.get());
                         }
                     }
                 }
@@ -293,14 +338,15 @@ public final class Randomly {
             }
 
             public String transformCachedString(Randomly r, String randomString) {
-                if (Randomly.getBoolean()) {
+                SplittableRandom random = r.getRandom();
+                if (random.nextBoolean()) {
                     return randomString.toLowerCase();
-                } else if (Randomly.getBoolean()) {
+                } else if (random.nextBoolean()) {
                     return randomString.toUpperCase();
                 } else {
                     char[] chars = randomString.toCharArray();
                     if (chars.length != 0) {
-                        for (int i = 0; i < Randomly.smallNumber(); i++) {
+                        for (int i = 0; i < smallNumber(random); i++) {
                             chars[r.getInteger(0, chars.length)] = ALPHABET.charAt(r.getInteger(0, ALPHABET.length()));
                         }
                     }
@@ -315,9 +361,10 @@ public final class Randomly {
         private static final String NUMERIC_ALPHABET = "0123456789";
 
         private static int getStringLength(Randomly r) {
+            SplittableRandom random = r.getRandom();
             int chars;
-            if (Randomly.getBoolean()) {
-                chars = Randomly.smallNumber();
+            if (random.nextBoolean()) {
+                chars = smallNumber(random);
             } else {
                 chars = r.getInteger(0, maxStringLength);
             }
@@ -326,9 +373,10 @@ public final class Randomly {
 
         private static String getStringOfAlphabet(Randomly r, String alphabet) {
             int chars = getStringLength(r);
+            SplittableRandom random = r.getRandom();
             StringBuilder sb = new StringBuilder();
             for (int i = 0; i < chars; i++) {
-                sb.append(alphabet.charAt(getNextInt(0, alphabet.length())));
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
             }
             return sb.toString();
         }
@@ -346,18 +394,27 @@ public final class Randomly {
     }
 
     public byte[] getBytes() {
-        int size = Randomly.smallNumber();
+        SplittableRandom random = getRandom();
+        int size = smallNumber(random);
         byte[] arr = new byte[size];
-        getThreadRandom().get().nextBytes(arr);
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % Integer.BYTES == 0) {
+                value = random.nextInt();
+            }
+            arr[i] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
         return arr;
     }
 
     public long getNonZeroInteger() {
+        SplittableRandom random = getRandom();
         long value;
-        if (smallBiasProbability()) {
-            return Randomly.fromOptions(-1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L);
+        if (smallBiasProbability(random)) {
+            return selectOption(random, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L);
         }
-        if (cacheProbability()) {
+        if (cacheProbability(random)) {
             Long l = getFromLongCache();
             if (l != null && l != 0) {
                 return l;
@@ -371,17 +428,18 @@ public final class Randomly {
     }
 
     public long getPositiveInteger() {
-        if (cacheProbability()) {
+        SplittableRandom random = getRandom();
+        if (cacheProbability(random)) {
             Long value = getFromLongCache();
             if (value != null && value >= 0) {
                 return value;
             }
         }
         long value;
-        if (smallBiasProbability()) {
-            value = Randomly.fromOptions(0L, Long.MAX_VALUE, 1L);
+        if (smallBiasProbability(random)) {
+            value = selectOption(random, 0L, Long.MAX_VALUE, 1L);
         } else {
-            value = getNextLong(0, Long.MAX_VALUE);
+            value = getNextLong(random, 0, Long.MAX_VALUE);
         }
         addToCache(value);
         assert value >= 0;
@@ -389,17 +447,18 @@ public final class Randomly {
     }
 
     public int getPositiveIntegerInt() {
-        if (cacheProbability()) {
+        SplittableRandom random = getRandom();
+        if (cacheProbability(random)) {
             Integer value = getFromIntegerCache();
             if (value != null && value >= 0) {
                 return value;
             }
         }
         int value;
-        if (smallBiasProbability()) {
-            value = Randomly.fromOptions(0, Integer.MAX_VALUE, 1);
+        if (smallBiasProbability(random)) {
+            value = selectOption(random, 0, Integer.MAX_VALUE, 1);
         } else {
-            value = getNextInt(0, Integer.MAX_VALUE);
+            value = getNextInt(random, 0, Integer.MAX_VALUE);
         }
         addToCache(value);
         assert value >= 0;
@@ -416,30 +475,35 @@ public final class Randomly {
     }
 
     public double getDouble() {
-        if (smallBiasProbability()) {
-            return Randomly.fromOptions(0.0, -0.0, Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY,
+        SplittableRandom random = getRandom();
+        if (smallBiasProbability(random)) {
+            return selectOption(random, 0.0, -0.0, Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY,
                     Double.NEGATIVE_INFINITY);
-        } else if (cacheProbability()) {
+        } else if (cacheProbability(random)) {
             Double d = getFromDoubleCache();
             if (d != null) {
                 return d;
             }
         }
-        double value = getThreadRandom().get().nextDouble();
+        double value = random.nextDouble();
         addToCache(value);
         return value;
     }
 
-    private static boolean smallBiasProbability() {
-        return getThreadRandom().get().nextInt(100) == 1;
+    private static boolean smallBiasProbability(SplittableRandom random) {
+        return random.nextInt(100) == 1;
+    }
+
+    private static boolean rareProbability(SplittableRandom random) {
+        return random.nextInt(10) == 1;
     }
 
     public static boolean getBooleanWithRatherLowProbability() {
-        return getThreadRandom().get().nextInt(10) == 1;
+        return rareProbability(getThreadRandom());
     }
 
     public static boolean getBooleanWithSmallProbability() {
-        return smallBiasProbability();
+        return smallBiasProbability(getThreadRandom());
     }
 
     public int getInteger(int left, int right) {
@@ -454,7 +518,7 @@ public final class Randomly {
         if (left == right) {
             return left;
         }
-        return getNextLong(left, right);
+        return getNextLong(getRandom(), left, right);
     }
 
     public BigInteger getBigInteger(BigInteger left, BigInteger right) {
@@ -469,7 +533,7 @@ public final class Randomly {
     }
 
     public BigDecimal getRandomBigDecimal() {
-        return BigDecimal.valueOf(getThreadRandom().get().nextDouble());
+        return BigDecimal.valueOf(getRandom().nextDouble());
     }
 
     public long getPositiveIntegerNotNull() {
@@ -482,32 +546,41 @@ public final class Randomly {
     }
 
     public static long getNonCachedInteger() {
-        return getThreadRandom().get().nextLong();
+        return getThreadRandom().nextLong();
     }
 
     public static long getPositiveOrZeroNonCachedInteger() {
-        return getNextLong(0, Long.MAX_VALUE);
+        return getNextLong(getThreadRandom(), 0, Long.MAX_VALUE);
     }
 
     public static long getNotCachedInteger(int lower, int upper) {
-        return getNextLong(lower, upper);
+        return getNextLong(getThreadRandom(), lower, upper);
     }
 
+    // continues with the generator of the current thread
     public Randomly(Supplier<String> provider) {
         this.provider = provider;
+        this.random = getThreadRandom();
+        this.owner = Thread.currentThread();
     }
 
     public Randomly() {
-        THREAD_RANDOM.set(new Random());
+        this(new SplittableRandom());
     }
 
     public Randomly(long seed) {
+        this(new SplittableRandom(seed));
         this.seed = seed;
-        THREAD_RANDOM.set(new Random(seed));
+    }
+
+    private Randomly(SplittableRandom random) {
+        this.random = random;
+        this.owner = Thread.currentThread();
+        THREAD_RANDOM.set(random);
     }
 
     public static double getUncachedDouble() {
-        return getThreadRandom().get().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
     public String getChar() {
@@ -528,21 +601,24 @@ public final class Randomly {
         }
     }
 
-    // see https://stackoverflow.com/a/2546158
-    // uniformity does not seem to be important for us
-    // SQLancer previously used ThreadLocalRandom.current().nextLong(lower, upper)
-    private static long getNextLong(long lower, long upper) {
+    // SQLancer previously used ThreadLocalRandom.current().nextLong(lower, upper), and then a stream of
+    // java.util.Random, which created the stream for every value
+    private static long getNextLong(SplittableRandom random, long lower, long upper) {
         if (lower > upper) {
             throw new IllegalArgumentException(lower + " " + upper);
         }
         if (lower == upper) {
             return lower;
         }
-        return getThreadRandom().get().longs(lower, upper).findFirst().getAsLong();
+        return random.nextLong(lower, upper);
+    }
+
+    private static int getNextInt(SplittableRandom random, int lower, int upper) {
+        return (int) getNextLong(random, lower, upper);
     }
 
     private static int getNextInt(int lower, int upper) {
-        return (int) getNextLong(lower, upper);
+        return getNextInt(getThreadRandom(), lower, upper);
     }
 
     public long getSeed() {
@@ -0,0 +1,101 @@
+package sqlancer;
+
+import java.util.List;
+
+import sqlancer.common.query.Query;
+
+/**
+ * Keeps a checkpoint of the database after executing a prefix of a list of statements, so that a reducer only needs
+ * to execute the remaining statements of a candidate that shares this prefix. If the provider does not support
+ * checkpoints, all candidates are executed on a new database.
+ */
+final class ReducerCheckpoint<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection> {
+
+    private final DatabaseProvider<G, O, C> provider;
+
+    // the checkpoint reflects statements[0, prefixLength); a length of 0 means that there is no checkpoint
+    private List<Query<C>> statements;
+    private int prefixLength;
+
+    ReducerCheckpoint(DatabaseProvider<G, O, C> provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Creates a checkpoint after executing the given prefix of the statements. If the current checkpoint reflects a
+     * shorter prefix of the same statements, only the statements that extend it are executed.
+     *
+     * @param globalState
+     *            the state whose database is used for the checkpoint
+     * @param newStatements
+     *            the statements that the candidates are derived from
+     * @param newPrefixLength
+     *            the number of statements that all candidates share
+     */
+    void advance(G globalState, List<Query<C>> newStatements, int newPrefixLength) {
+        if (!provider.supportsCheckpoints() || newStatements == statements && newPrefixLength == prefixLength) {
+            return;
+        }
+        boolean extendsCheckpoint = newStatements == statements && prefixLength != 0
+                && prefixLength < newPrefixLength;
+        int from = extendsCheckpoint ? prefixLength : 0;
+        statements = newStatements;
+        prefixLength = 0;
+        if (newPrefixLength == 0) {
+            return;
+        }
+        try (C con = extendsCheckpoint ? provider.restoreCheckpoint(globalState, newStatements.subList(0, from))
+                : provider.createDatabase(globalState)) {
+            globalState.setConnection(con);
+            executeStatements(globalState, newStatements.subList(from, newPrefixLength));
+            provider.createCheckpoint(globalState);
+            prefixLength = newPrefixLength;
+        } catch (Exception e) {
+            // fall back to executing the candidates on a new database
+            globalState.getLogger().logReducer("warning: failed creating a checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Discards the checkpoint, for example, because one of the statements that it reflects was modified.
+     */
+    void invalidate() {
+        statements = null;
+        prefixLength = 0;
+    }
+
+    int getPrefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * Connects to a database on which the candidate, which must start with the checkpointed prefix, can be executed
+     * from {@link #getPrefixLength()} on.
+     *
+     * @param globalState
+     *            the state whose database is used
+     *
+     * @return a connection to the restored checkpoint, or to a new database if there is no checkpoint
+     *
+     * @throws Exception
+     *             if connecting to the database fails
+     */
+    C connect(G globalState) throws Exception {
+        if (prefixLength == 0) {
+            return provider.createDatabase(globalState);
+        }
+        return provider.restoreCheckpoint(globalState, statements.subList(0, prefixLength));
+    }
+
+    static <C extends SQLancerDBConnection> void executeStatements(GlobalState<?, ?, C> globalState,
+            List<Query<C>> statements) {
+        for (Query<C> s : statements) {
+            try {
+                s.execute(globalState);
+            } catch (Throwable ignoredException) {
+                // ignore
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * A fixed number of threads on which reducers test candidates concurrently. Each thread uses its own global state and
+ * thus a separate database, whose name is derived from the name of the database being reduced.
+ */
+final class ReducerWorkerPool<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection>
+        implements AutoCloseable {
+
+    private final DatabaseProvider<G, O, C> provider;
+    private final ExecutorService executor;
+    private final List<G> workerStates = new ArrayList<>();
+
+    ReducerWorkerPool(DatabaseProvider<G, O, C> provider, G newGlobalState, int nrWorkers) {
+        this.provider = provider;
+        this.executor = Executors.newFixedThreadPool(nrWorkers);
+        for (int i = 0; i < nrWorkers; i++) {
+            workerStates.add(createWorkerGlobalState(newGlobalState, i));
+        }
+    }
+
+    int size() {
+        return workerStates.size();
+    }
+
+    /**
+     * Tests the given candidates concurrently, each on a separate worker.
+     *
+     * @param candidates
+     *            at most {@link #size()} candidates
+     * @param test
+     *            tests a candidate on the database of the given worker state
+     *
+     * @return the result of the test for each candidate, in the order of the candidates
+     *
+     * @throws Exception
+     *             if a test was interrupted or threw an exception
+     */
+    <T> List<Boolean> test(List<T> candidates, BiPredicate<G, T> test) throws Exception {
+        if (candidates.size() > workerStates.size()) {
+            throw new IllegalArgumentException(candidates.size() + " candidates for " + size() + " workers");
+        }
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            G workerState = workerStates.get(i);
+            T candidate = candidates.get(i);
+            futures.add(executor.submit(() -> test.test(workerState, candidate)));
+        }
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private G createWorkerGlobalState(G newGlobalState, int workerIndex) {
+        G workerState;
+        try {
+            workerState = provider.getGlobalStateClass().getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        String databaseName = newGlobalState.getDatabaseName() + "r" + workerIndex;
+        workerState.setState(provider.getStateToReproduce(databaseName));
+        workerState.setRandomly(new Randomly(newGlobalState.getRandomly().getSeed()));
+        workerState.setDatabaseName(databaseName);
+        workerState.setMainOptions(newGlobalState.getOptions());
+        workerState.setDbmsSpecificOptions(newGlobalState.getDbmsSpecificOptions());
+        // the writers of a logger are not thread-safe, so each worker logs to the files of its own database
+        workerState.setStateLogger(new Main.StateLogger(databaseName, provider, newGlobalState.getOptions()));
+        workerState.setManager(new Main.QueryManager<>(workerState));
+        return workerState;
+    }
+
+    /**
+     * Stops the workers and drops their databases. A worker whose test is still running is interrupted, and its
+     * database is only dropped after the test has finished.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (G workerState : workerStates) {
+            try {
+                provider.dropDatabase(workerState);
+            } catch (Exception e) {
+                // the database is replaced when the next reducer creates a worker with the same name
+                System.err.println("could not drop the reducer database " + workerState.getDatabaseName() + ": " + e);
+            }
+        }
+    }
+
+}
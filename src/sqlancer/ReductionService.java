@@ -0,0 +1,121 @@
+package sqlancer;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reduces the statements of bug-inducing databases on its own threads, so that the thread that found a bug can test the
+ * next database instead of waiting for the reduction. Reductions of fewer statements are started first, as they are
+ * likely to finish sooner. If the queue is full, the reduction is executed by the thread that found the bug, which thus
+ * slows down the search until the reductions catch up.
+ */
+final class ReductionService {
+
+    @FunctionalInterface
+    interface Reduction {
+        void reduce() throws Exception;
+    }
+
+    private static final class Task implements Runnable, Comparable<Task> {
+        private final int nrStatements;
+        private final long sequenceNumber;
+        private final Runnable reduction;
+
+        Task(int nrStatements, long sequenceNumber, Runnable reduction) {
+            this.nrStatements = nrStatements;
+            this.sequenceNumber = sequenceNumber;
+            this.reduction = reduction;
+        }
+
+        @Override
+        public void run() {
+            reduction.run();
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int comparison = Integer.compare(nrStatements, other.nrStatements);
+            return comparison != 0 ? comparison : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore queueSlots;
+    private final Semaphore connectionPermits;
+    private final AtomicLong nextSequenceNumber = new AtomicLong();
+
+    /**
+     * Creates a service with the given number of threads.
+     *
+     * @param nrThreads
+     *            the number of reductions that are executed concurrently
+     * @param queueSize
+     *            the number of reductions that can be submitted but not yet finished
+     * @param connectionPermits
+     *            the permits of --max-concurrent-connections, of which each reduction holds one, or null
+     */
+    ReductionService(int nrThreads, int queueSize, Semaphore connectionPermits) {
+        this.executor = new ThreadPoolExecutor(nrThreads, nrThreads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>());
+        this.queueSlots = new Semaphore(queueSize);
+        this.connectionPermits = connectionPermits;
+    }
+
+    /**
+     * Reduces the statements of a database in the background, or on the current thread if the queue is full.
+     *
+     * @param nrStatements
+     *            the number of statements to reduce, which determines the priority of the reduction
+     * @param reduction
+     *            reduces the statements and logs the result, which must not depend on the state of the current thread
+     *
+     * @throws Exception
+     *             if the reduction is executed on the current thread and fails.
+     */
+    void submit(int nrStatements, Reduction reduction) throws Exception {
+        if (!queueSlots.tryAcquire()) {
+            reduction.reduce();
+            return;
+        }
+        executor.execute(new Task(nrStatements, nextSequenceNumber.getAndIncrement(), () -> {
+            try {
+                if (connectionPermits != null) {
+                    connectionPermits.acquire();
+                }
+                try {
+                    reduction.reduce();
+                } finally {
+                    if (connectionPermits != null) {
+                        connectionPermits.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            } finally {
+                queueSlots.release();
+            }
+        }));
+    }
+
+    /**
+     * Waits until the submitted reductions have finished. No reductions can be submitted afterwards.
+     *
+     * @param timeoutMillis
+     *            the maximum time to wait
+     *
+     * @return true if all reductions have finished
+     *
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting.
+     */
+    boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -4,10 +4,13 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SQLConnection implements SQLancerDBConnection {
 
     private final Connection connection;
+    private final List<SQLConnection> sessions = new ArrayList<>();
 
     public SQLConnection(Connection connection) {
         this.connection = connection;
@@ -21,7 +24,24 @@ public class SQLConnection implements SQLancerDBConnection {
 
     @Override
     public void close() throws SQLException {
-        connection.close();
+        try {
+            for (SQLConnection session : sessions) {
+                session.close();
+            }
+        } finally {
+            sessions.clear();
+            connection.close();
+        }
+    }
+
+    /**
+     * Registers another connection to the same database, which is closed together with this connection.
+     *
+     * @param session
+     *            the other connection
+     */
+    public void addSession(SQLConnection session) {
+        sessions.add(session);
     }
 
     public Statement prepareStatement(String arg) throws SQLException {
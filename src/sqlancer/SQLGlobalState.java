@@ -1,6 +1,14 @@
 package sqlancer;
 
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import sqlancer.common.query.BatchResult;
 import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.schema.AbstractSchema;
 
 /**
@@ -14,6 +22,8 @@ import sqlancer.common.schema.AbstractSchema;
 public abstract class SQLGlobalState<O extends DBMSSpecificOptions<?>, S extends AbstractSchema<?, ?>>
         extends GlobalState<O, S, SQLConnection> {
 
+    private final List<String> sessionSettings = new ArrayList<>();
+
     @Override
     protected void executeEpilogue(Query<?> q, boolean success, ExecutionTimer timer) throws Exception {
         boolean logExecutionTime = getOptions().logExecutionTime();
@@ -26,5 +36,78 @@ public abstract class SQLGlobalState<O extends DBMSSpecificOptions<?>, S extends
         if (q.couldAffectSchema()) {
             updateSchema();
         }
+        updateRowCounts(q, success);
+        if (success && isSessionSetting(q)) {
+            sessionSettings.add(q.getQueryString());
+        }
+    }
+
+    /**
+     * Checks whether a statement changes a setting of the current session only, which has to be applied again to other
+     * sessions to the database, such as those that execute the query variants of DQP.
+     *
+     * @param q
+     *            the executed statement
+     *
+     * @return true if the statement changes a session-scoped setting, which is false by default
+     */
+    protected boolean isSessionSetting(Query<?> q) {
+        return false;
+    }
+
+    /**
+     * Gets the statements that successfully changed session-scoped settings, in the order in which they were executed.
+     *
+     * @return the statements
+     */
+    public List<String> getSessionSettings() {
+        return Collections.unmodifiableList(sessionSettings);
+    }
+
+    /**
+     * Checks whether statements can be executed as a batch. By default, a batch is executed as a JDBC batch, which
+     * requires that the JDBC driver stops executing a batch at its first failed statement, and that
+     * {@link #getFailedBatchStatement(BatchUpdateException, int)} determines this statement.
+     *
+     * @return true if INSERT statements are batched when --statement-batch-size is set
+     */
+    protected boolean supportsStatementBatches() {
+        return false;
+    }
+
+    /**
+     * Determines the statement of a failed JDBC batch at which the driver stopped executing the batch.
+     *
+     * @param e
+     *            the exception of the failed batch
+     * @param nrStatements
+     *            the number of statements of the batch
+     *
+     * @return the index of the failed statement, or -1 if the driver does not report it
+     */
+    protected int getFailedBatchStatement(BatchUpdateException e, int nrStatements) {
+        return SQLQueryAdapter.getFailedQuery(e, nrStatements);
+    }
+
+    @Override
+    public boolean canBeBatched(Query<?> q) {
+        // the execution time of a statement is logged after the statement, which a batch cannot interleave
+        return supportsStatementBatches() && !getOptions().logExecutionTime() && q instanceof SQLQueryAdapter
+                && ((SQLQueryAdapter) q).canBeBatched();
+    }
+
+    @Override
+    protected BatchResult executeBatch(List<Query<SQLConnection>> queries, boolean[] success) throws SQLException {
+        List<SQLQueryAdapter> batch = new ArrayList<>(queries.size());
+        for (Query<SQLConnection> q : queries) {
+            batch.add((SQLQueryAdapter) q);
+        }
+        return SQLQueryAdapter.executeBatch(getConnection(), batch, success,
+                e -> getFailedBatchStatement(e, batch.size()));
+    }
+
+    @Override
+    protected void checkBatchFailure(Query<SQLConnection> q, Exception failure) {
+        ((SQLQueryAdapter) q).checkException(failure);
     }
 }
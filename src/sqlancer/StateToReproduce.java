@@ -18,6 +18,11 @@ public class StateToReproduce implements Serializable {
 
     private List<Query<?>> statements = new ArrayList<>();
 
+    // the statements logged before those in the statements list, if the number of statements in memory is bounded
+    private transient StatementSpillFile spilledStatements;
+
+    private transient int maxStatementsInMemory;
+
     private final String databaseName;
 
     private transient DatabaseProvider<?, ?, ?> databaseProvider;
@@ -75,10 +80,71 @@ public class StateToReproduce implements Serializable {
             throw new IllegalArgumentException();
         }
         statements.add(query);
+        if (maxStatementsInMemory != 0 && statements.size() >= maxStatementsInMemory) {
+            spillStatements();
+        }
+    }
+
+    /**
+     * Bounds the number of logged statements that are kept in memory. Once the bound is reached, the older half of the
+     * statements is moved to a temporary file of this state and is only read back by {@link #getStatements()}, while
+     * the newer half stays in memory.
+     *
+     * @param maxStatementsInMemory
+     *            the maximum number of statements kept in memory, or 0 to keep all of them in memory
+     */
+    public void setMaxStatementsInMemory(int maxStatementsInMemory) {
+        this.maxStatementsInMemory = maxStatementsInMemory;
+    }
+
+    private void spillStatements() {
+        try {
+            if (spilledStatements == null) {
+                spilledStatements = StatementSpillFile.create();
+            }
+            List<Query<?>> olderStatements = statements.subList(0, statements.size() - maxStatementsInMemory / 2);
+            spilledStatements.append(olderStatements);
+            olderStatements.clear();
+        } catch (IOException e) {
+            // keep the statements in memory, for example, if one of them cannot be serialized
+            maxStatementsInMemory = 0;
+        }
+    }
+
+    /**
+     * Writes the logged statements to a new spill file if the number of statements in memory is bounded, so that they
+     * can be kept, for example, for the copies of a template database, without keeping them in memory.
+     *
+     * @return the file, or null if all statements are kept in memory
+     *
+     * @throws IOException
+     *             if the statements cannot be written.
+     */
+    StatementSpillFile copyStatementsToFile() throws IOException {
+        if (maxStatementsInMemory == 0) {
+            return null;
+        }
+        StatementSpillFile file = spilledStatements == null ? StatementSpillFile.create() : spilledStatements.copy();
+        try {
+            file.append(statements);
+        } catch (IOException e) {
+            file.delete();
+            throw e;
+        }
+        return file;
     }
 
     public List<Query<?>> getStatements() {
-        return Collections.unmodifiableList(statements);
+        if (spilledStatements == null) {
+            return Collections.unmodifiableList(statements);
+        }
+        try {
+            List<Query<?>> allStatements = spilledStatements.read();
+            allStatements.addAll(statements);
+            return Collections.unmodifiableList(allStatements);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
     }
 
     /**
@@ -86,11 +152,11 @@ public class StateToReproduce implements Serializable {
      */
     @Deprecated
     public void commentStatements() {
-        for (int i = 0; i < statements.size(); i++) {
-            Query<?> statement = statements.get(i);
-            Query<?> newQuery = databaseProvider.getLoggableFactory().commentOutQuery(statement);
-            statements.set(i, newQuery);
+        List<Query<?>> commentedStatements = new ArrayList<>();
+        for (Query<?> statement : getStatements()) {
+            commentedStatements.add(databaseProvider.getLoggableFactory().commentOutQuery(statement));
         }
+        setStatements(commentedStatements);
     }
 
     public long getSeedValue() {
@@ -131,7 +197,9 @@ public class StateToReproduce implements Serializable {
         @Override
         public void close() {
             if (!success) {
-                StateToReproduce.this.statements.addAll(statements);
+                for (Query<?> statement : statements) {
+                    logStatement(statement);
+                }
             }
 
         }
@@ -159,6 +227,11 @@ public class StateToReproduce implements Serializable {
     }
 
     private void writeObject(ObjectOutputStream out) throws IOException {
+        if (spilledStatements != null) {
+            statements = new ArrayList<>(getStatements());
+            spilledStatements.delete();
+            spilledStatements = null;
+        }
         out.defaultWriteObject();
 
         out.writeObject(this.databaseProvider != null ? this.databaseProvider.getDBMSName() : null);
@@ -181,8 +254,38 @@ public class StateToReproduce implements Serializable {
         this.databaseProvider = provider;
     }
 
+    /**
+     * Copies the statements, seed, and DBMS version into a new state that keeps all statements in memory, so that the
+     * copy can be used by another thread while this state is used further.
+     *
+     * @return the copy
+     */
+    StateToReproduce copy() {
+        StateToReproduce copy = new StateToReproduce(databaseName, databaseProvider);
+        copy.setStatements(new ArrayList<>(getStatements()));
+        copy.seedValue = seedValue;
+        copy.databaseVersion = databaseVersion;
+        copy.exception = exception;
+        return copy;
+    }
+
+    /**
+     * Replaces the logged statements with those of the given spill file, which this state then owns.
+     *
+     * @param spilledStatements
+     *            a file created by {@link #copyStatementsToFile()}
+     */
+    void setStatements(StatementSpillFile spilledStatements) {
+        setStatements(new ArrayList<>());
+        this.spilledStatements = spilledStatements;
+    }
+
     public void setStatements(List<Query<?>> statements) {
         this.statements = statements;
+        if (spilledStatements != null) {
+            spilledStatements.delete();
+            spilledStatements = null;
+        }
     }
 
 }
@@ -29,7 +29,6 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
         this.queryConsumer = queryConsumer;
     }
 
-    @SuppressWarnings("unchecked")
     public void executeStatements() throws Exception {
         Randomly r = globalState.getRandomly();
         int[] nrRemaining = new int[actions.length];
@@ -44,6 +43,10 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             nrRemaining[i] = nrPerformed;
             total += nrPerformed;
         }
+        int batchSize = globalState.getOptions().getStatementBatchSize();
+        @SuppressWarnings("rawtypes")
+        List<Query> batch = new ArrayList<>();
+        List<A> batchActions = new ArrayList<>();
         while (total != 0) {
             A nextAction = null;
             int selection = r.getInteger(0, total);
@@ -63,21 +66,76 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             @SuppressWarnings("rawtypes")
             Query query = null;
             try {
-                boolean success;
-                int nrTries = 0;
-                do {
-                    query = nextAction.getQuery(globalState);
-                    success = globalState.executeStatement(query);
-                } while (nextAction.canBeRetried() && !success
-                        && nrTries++ < globalState.getOptions().getNrStatementRetryCount());
+                query = nextAction.getQuery(globalState);
+                if (batchSize > 1 && globalState.canBeBatched(query)) {
+                    batch.add(query);
+                    batchActions.add(nextAction);
+                    if (batch.size() == batchSize) {
+                        executeBatch(batch, batchActions);
+                    }
+                } else {
+                    executeBatch(batch, batchActions);
+                    query = execute(nextAction, query, 0);
+                }
             } catch (IgnoreMeException ignored) {
 
             }
             if (query != null && query.couldAffectSchema()) {
-                globalState.updateSchema();
+                globalState.updateSchemaAfter(query);
                 queryConsumer.notify(query);
             }
             total--;
         }
+        executeBatch(batch, batchActions);
+    }
+
+    // executes the query and retries the action if it fails; returns the last executed query
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Query execute(A action, Query query, int nrPreviousTries) throws Exception {
+        int nrTries = nrPreviousTries;
+        Query executedQuery = query;
+        while (true) {
+            long startNanos = System.nanoTime();
+            boolean success = globalState.executeStatement(executedQuery);
+            Metrics.recordActionStatement(action, success, System.nanoTime() - startNanos);
+            if (!action.canBeRetried() || success
+                    || nrTries++ >= globalState.getOptions().getNrStatementRetryCount()) {
+                return executedQuery;
+            }
+            try {
+                executedQuery = action.getQuery(globalState);
+            } catch (IgnoreMeException e) {
+                return executedQuery;
+            }
+        }
+    }
+
+    // failed statements of the batch are retried one by one
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void executeBatch(List<Query> batch, List<A> batchActions) throws Exception {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        boolean[] success = globalState.executeStatementBatch((List) batch);
+        long nanosPerStatement = (System.nanoTime() - startNanos) / batch.size();
+        for (int i = 0; i < batch.size(); i++) {
+            A action = batchActions.get(i);
+            Metrics.recordActionStatement(action, success[i], nanosPerStatement);
+            if (!success[i] && action.canBeRetried() && globalState.getOptions().getNrStatementRetryCount() > 0) {
+                Query query;
+                try {
+                    query = execute(action, action.getQuery(globalState), 1);
+                } catch (IgnoreMeException ignored) {
+                    continue;
+                }
+                if (query.couldAffectSchema()) {
+                    globalState.updateSchemaAfter(query);
+                    queryConsumer.notify(query);
+                }
+            }
+        }
+        batch.clear();
+        batchActions.clear();
     }
 }
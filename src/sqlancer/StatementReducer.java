@@ -21,8 +21,14 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
 
     Instant timeOfReductionBegins;
 
+    // only used if --reducer-threads is greater than 1
+    private ReducerWorkerPool<G, O, C> workers;
+
+    private final ReducerCheckpoint<G, O, C> checkpoint;
+
     public StatementReducer(DatabaseProvider<G, O, C> provider) {
         this.provider = provider;
+        this.checkpoint = new ReducerCheckpoint<>(provider);
     }
 
     private boolean hasNotReachedLimit(long curr, long limit) {
@@ -57,20 +63,38 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         currentReduceSteps = 0;
         currentReduceTime = 0;
         partitionNum = 2;
+        checkpoint.invalidate();
 
-        while (knownToReproduceBugStatements.size() >= 2 && hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
-                && hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
-            observedChange = false;
-
-            knownToReproduceBugStatements = tryReduction(state, reproducer, newGlobalState,
-                    knownToReproduceBugStatements);
+        int nrThreads = state.getOptions().getNrReducerThreads();
+        if (nrThreads > 1) {
+            workers = new ReducerWorkerPool<>(provider, newGlobalState, nrThreads);
+        }
+        try {
+            while (knownToReproduceBugStatements.size() >= 2
+                    && hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
+                    && hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
+                observedChange = false;
+
+                if (workers == null) {
+                    knownToReproduceBugStatements = tryReduction(state, reproducer, newGlobalState,
+                            knownToReproduceBugStatements);
+                } else {
+                    knownToReproduceBugStatements = tryReductionInParallel(reproducer, newGlobalState,
+                            knownToReproduceBugStatements);
+                }
 
-            if (!observedChange) {
-                if (partitionNum == knownToReproduceBugStatements.size()) {
-                    break;
+                if (!observedChange) {
+                    if (partitionNum == knownToReproduceBugStatements.size()) {
+                        break;
+                    }
+                    // increase the search granularity
+                    partitionNum = Math.min(partitionNum * 2, knownToReproduceBugStatements.size());
                 }
-                // increase the search granularity
-                partitionNum = Math.min(partitionNum * 2, knownToReproduceBugStatements.size());
+            }
+        } finally {
+            if (workers != null) {
+                workers.close();
+                workers = null;
             }
         }
 
@@ -91,35 +115,16 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         while (start < statements.size()) {
             // newStatements = candidate[:start] + candidate[start+subLength:]
             // in other word, remove [start, start+subLength) from candidates
-            try (C con2 = provider.createDatabase(newGlobalState)) {
-                newGlobalState.setConnection(con2);
-                List<Query<C>> candidateStatements = new ArrayList<>(statements);
-                int endPoint = Math.min(start + subLength, candidateStatements.size());
-                candidateStatements.subList(start, endPoint).clear();
-                newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
-
-                for (Query<C> s : candidateStatements) {
-                    try {
-                        s.execute(newGlobalState);
-                    } catch (Throwable ignoredException) {
-                        // ignore
-                    }
-                }
-                try {
-                    if (reproducer.bugStillTriggers(newGlobalState)) {
-                        observedChange = true;
-                        statements = candidateStatements;
-                        partitionNum = Math.max(partitionNum - 1, 2);
-                        // reproducer.outputHook((SQLite3GlobalState) newGlobalState);
-                        newGlobalState.getLogger().logReduced(newGlobalState.getState());
-                        break;
-
-                    }
-                } catch (Throwable ignoredException) {
-
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
+            // all candidates of this round share the statements before start
+            checkpoint.advance(newGlobalState, statements, start);
+            List<Query<C>> candidateStatements = removeRange(statements, start, subLength);
+            if (bugStillTriggers(newGlobalState, candidateStatements, reproducer, checkpoint)) {
+                observedChange = true;
+                statements = candidateStatements;
+                partitionNum = Math.max(partitionNum - 1, 2);
+                // reproducer.outputHook((SQLite3GlobalState) newGlobalState);
+                newGlobalState.getLogger().logReduced(newGlobalState.getState());
+                break;
             }
 
             currentReduceSteps++;
@@ -135,6 +140,81 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         return statements;
     }
 
+    /**
+     * Tests the complements of all partitions of the current granularity, evaluating up to --reducer-threads of them
+     * concurrently, each on the database of a separate worker state. As in the sequential algorithm, the first
+     * complement (i.e., the one with the lowest start index) that still triggers the bug is kept.
+     */
+    private List<Query<C>> tryReductionInParallel(Reproducer<G> reproducer, G newGlobalState,
+            List<Query<C>> statements) throws Exception {
+        int subLength = statements.size() / partitionNum;
+        List<Integer> starts = new ArrayList<>();
+        for (int start = 0; start < statements.size(); start += subLength) {
+            starts.add(start);
+        }
+        for (int batchStart = 0; batchStart < starts.size(); batchStart += workers.size()) {
+            int batchSize = Math.min(workers.size(), starts.size() - batchStart);
+            if (maxReduceSteps != MainOptions.NO_REDUCE_LIMIT) {
+                batchSize = (int) Math.min(batchSize, maxReduceSteps - currentReduceSteps);
+            }
+            List<List<Query<C>>> candidates = new ArrayList<>();
+            for (int i = 0; i < batchSize; i++) {
+                candidates.add(removeRange(statements, starts.get(batchStart + i), subLength));
+            }
+            List<Boolean> results = workers.test(candidates,
+                    (workerState, candidate) -> bugStillTriggers(workerState, candidate, reproducer, null));
+            List<Query<C>> reduced = null;
+            int firstSuccess = results.indexOf(true);
+            if (firstSuccess != -1) {
+                reduced = candidates.get(firstSuccess);
+            }
+
+            currentReduceSteps += batchSize;
+            currentReduceTime = Duration.between(timeOfReductionBegins, Instant.now()).getSeconds();
+            if (reduced != null) {
+                observedChange = true;
+                partitionNum = Math.max(partitionNum - 1, 2);
+                newGlobalState.getState().setStatements(new ArrayList<>(reduced));
+                newGlobalState.getLogger().logReduced(newGlobalState.getState());
+                return reduced;
+            }
+            if (!hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
+                    || !hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
+                return statements;
+            }
+        }
+        return statements;
+    }
+
+    // candidate[:start] + candidate[start+subLength:]
+    private List<Query<C>> removeRange(List<Query<C>> statements, int start, int subLength) {
+        List<Query<C>> candidateStatements = new ArrayList<>(statements);
+        int endPoint = Math.min(start + subLength, candidateStatements.size());
+        candidateStatements.subList(start, endPoint).clear();
+        return candidateStatements;
+    }
+
+    private boolean bugStillTriggers(G globalState, List<Query<C>> candidateStatements, Reproducer<G> reproducer,
+            ReducerCheckpoint<G, O, C> candidateCheckpoint) {
+        int prefixLength = candidateCheckpoint == null ? 0 : candidateCheckpoint.getPrefixLength();
+        try (C con2 = prefixLength == 0 ? provider.createDatabase(globalState)
+                : candidateCheckpoint.connect(globalState)) {
+            globalState.setConnection(con2);
+            globalState.getState().setStatements(new ArrayList<>(candidateStatements));
+
+            ReducerCheckpoint.executeStatements(globalState,
+                    candidateStatements.subList(prefixLength, candidateStatements.size()));
+            try {
+                return reproducer.bugStillTriggers(globalState);
+            } catch (Throwable ignoredException) {
+
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @SuppressWarnings("unused")
     private void printQueries(List<Query<C>> statements) {
         System.out.println("===============================");
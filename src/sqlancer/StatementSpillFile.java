@@ -0,0 +1,168 @@
+package sqlancer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import sqlancer.common.query.Query;
+
+/**
+ * A temporary file to which a {@link StateToReproduce} moves the statements that it does not keep in memory. Each state
+ * has its own file, which is deleted once the state discards it or is garbage collected, or when SQLancer terminates.
+ */
+final class StatementSpillFile {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    // the files that have not been deleted yet
+    private static final Set<Path> FILES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> FILES.forEach(StatementSpillFile::deleteFile)));
+    }
+
+    // the resources of the file, which do not refer to the file itself, so that they can be released by the cleaner
+    private static final class FileResources implements Runnable {
+        private final Path path;
+        private final DataOutputStream out;
+
+        FileResources(Path path, DataOutputStream out) {
+            this.path = path;
+            this.out = out;
+        }
+
+        @Override
+        public void run() {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // the file is deleted anyway
+            }
+            deleteFile(path);
+        }
+    }
+
+    private final Path path;
+    private final DataOutputStream out;
+    private final Cleaner.Cleanable cleanable;
+    private int nrStatements;
+
+    private StatementSpillFile(Path path, DataOutputStream out) {
+        this.path = path;
+        this.out = out;
+        this.cleanable = CLEANER.register(this, new FileResources(path, out));
+    }
+
+    /**
+     * Creates an empty spill file.
+     *
+     * @return the new spill file
+     *
+     * @throws IOException
+     *             if the file cannot be created.
+     */
+    static StatementSpillFile create() throws IOException {
+        Path path = Files.createTempFile("sqlancer-statements-", ".bin");
+        FILES.add(path);
+        try {
+            return new StatementSpillFile(path,
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))));
+        } catch (IOException e) {
+            deleteFile(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the statements to the file. The statements are serialized before anything is written, so that the file
+     * remains readable if one of them cannot be serialized.
+     *
+     * @param statements
+     *            the statements to append
+     *
+     * @throws IOException
+     *             if the statements cannot be serialized or written.
+     */
+    void append(List<Query<?>> statements) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream batch = new ObjectOutputStream(bytes)) {
+            batch.writeInt(statements.size());
+            for (Query<?> statement : statements) {
+                batch.writeObject(statement);
+            }
+        }
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+        nrStatements += statements.size();
+    }
+
+    List<Query<?>> read() throws IOException {
+        out.flush();
+        List<Query<?>> statements = new ArrayList<>(nrStatements);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (statements.size() < nrStatements) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream batch = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    int size = batch.readInt();
+                    for (int i = 0; i < size; i++) {
+                        statements.add((Query<?>) batch.readObject());
+                    }
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+        return statements;
+    }
+
+    /**
+     * Copies the statements into a new spill file, without reading them back into memory.
+     *
+     * @return the copy
+     *
+     * @throws IOException
+     *             if the copy cannot be created.
+     */
+    StatementSpillFile copy() throws IOException {
+        out.flush();
+        StatementSpillFile copy = create();
+        try {
+            Files.copy(path, copy.out);
+        } catch (IOException e) {
+            copy.delete();
+            throw e;
+        }
+        copy.nrStatements = nrStatements;
+        return copy;
+    }
+
+    /**
+     * Deletes the file, after which it can no longer be used.
+     */
+    void delete() {
+        cleanable.clean();
+    }
+
+    private static void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the file is in the temporary directory
+        }
+        FILES.remove(path);
+    }
+
+}
@@ -0,0 +1,169 @@
+package sqlancer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import sqlancer.common.query.Query;
+
+/**
+ * Keeps track of the template database of each database name, from which further databases are created as copies,
+ * together with the statements that generated it. The templates are static, since each database is generated by a
+ * new provider instance. A template is dropped once all of its copies have been used, and the remaining templates are
+ * dropped when SQLancer terminates.
+ */
+final class TemplateDatabases {
+
+    private static final Map<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    interface TemplateDropper {
+        void drop() throws Exception;
+    }
+
+    @FunctionalInterface
+    interface TemplateCopier<C> {
+        C copy() throws Exception;
+    }
+
+    // a template is locked while it is copied, so that it is neither dropped nor its last use taken twice meanwhile
+    private static final class Template {
+        final String databaseName;
+        // the statements that generated the template, or null if they were written to the statement file
+        final List<Query<?>> statements;
+        // the statement file, if the number of statements in memory is bounded
+        final StatementSpillFile statementFile;
+        final TemplateDropper dropper;
+        int nrRemainingUses;
+        boolean dropped;
+
+        Template(String databaseName, List<Query<?>> statements, StatementSpillFile statementFile,
+                TemplateDropper dropper, int nrRemainingUses) {
+            this.databaseName = databaseName;
+            this.statements = statements;
+            this.statementFile = statementFile;
+            this.dropper = dropper;
+            this.nrRemainingUses = nrRemainingUses;
+        }
+
+        synchronized void copyStatementsTo(StateToReproduce state) throws IOException {
+            if (statementFile == null) {
+                state.setStatements(new ArrayList<>(statements));
+            } else {
+                state.setStatements(statementFile.copy());
+            }
+        }
+
+        synchronized void deleteStatements() {
+            if (statementFile != null) {
+                statementFile.delete();
+            }
+        }
+
+        synchronized void drop() {
+            if (dropped) {
+                return;
+            }
+            dropped = true;
+            deleteStatements();
+            try {
+                dropper.drop();
+            } catch (Exception e) {
+                // a template that is left behind is replaced when the next template with the same name is created
+                System.err.println("could not drop the template of " + databaseName + ": " + e);
+            }
+        }
+    }
+
+    private TemplateDatabases() {
+    }
+
+    /**
+     * Saves the statements that generated the template database with the given name. If the number of statements in
+     * memory is bounded, they are written to a file instead of being kept in memory.
+     *
+     * @param databaseName
+     *            the name of the databases that are created as copies of the template
+     * @param state
+     *            the state whose statements generated the template
+     * @param nrUses
+     *            the number of copies that can be created from the template
+     * @param dropper
+     *            drops the template once no further copies are created of it
+     */
+    static void put(String databaseName, StateToReproduce state, int nrUses, TemplateDropper dropper) {
+        StatementSpillFile statementFile;
+        try {
+            statementFile = state.copyStatementsToFile();
+        } catch (IOException e) {
+            // keep the statements in memory, for example, if one of them cannot be serialized
+            statementFile = null;
+        }
+        List<Query<?>> statements = statementFile == null ? new ArrayList<>(state.getStatements()) : null;
+        Template previous = TEMPLATES.put(databaseName,
+                new Template(databaseName, statements, statementFile, dropper, nrUses));
+        if (previous != null) {
+            // the database of the previous template has been replaced by the new one
+            previous.deleteStatements();
+        }
+    }
+
+    /**
+     * Creates a copy of the template database with the given name, unless there is no template or all of its copies
+     * have been used. The template is not dropped while it is copied.
+     *
+     * @param databaseName
+     *            the name of the database that should be created
+     * @param state
+     *            the state of the database, whose statements are replaced with those that generated the template before
+     *            the copy is created
+     * @param copier
+     *            creates the copy
+     *
+     * @return the result of the copier, or null if no copy was created
+     *
+     * @throws Exception
+     *             if creating the copy fails.
+     */
+    static <C> C copy(String databaseName, StateToReproduce state, TemplateCopier<C> copier) throws Exception {
+        Template template = TEMPLATES.get(databaseName);
+        if (template == null) {
+            return null;
+        }
+        synchronized (template) {
+            if (template.dropped) {
+                return null;
+            }
+            if (template.nrRemainingUses == 0) {
+                TEMPLATES.remove(databaseName, template);
+                template.drop();
+                return null;
+            }
+            template.nrRemainingUses--;
+            template.copyStatementsTo(state);
+            return copier.copy();
+        }
+    }
+
+    static void remove(String databaseName) {
+        Template template = TEMPLATES.remove(databaseName);
+        if (template != null) {
+            template.deleteStatements();
+        }
+    }
+
+    /**
+     * Drops all templates, after which no further copies are created of them.
+     */
+    static void dropAll() {
+        for (String databaseName : TEMPLATES.keySet()) {
+            Template template = TEMPLATES.remove(databaseName);
+            if (template != null) {
+                template.drop();
+            }
+        }
+    }
+
+}
@@ -407,6 +407,12 @@ public class CitusProvider extends PostgresProvider {
         }
     }
 
+    @Override
+    public boolean supportsTemplates() {
+        // the worker nodes would also need a copy of the template
+        return false;
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
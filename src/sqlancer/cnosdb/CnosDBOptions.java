@@ -6,6 +6,7 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 
 import sqlancer.DBMSSpecificOptions;
+import sqlancer.cnosdb.client.CnosDBClient;
 
 @Parameters(separators = "=", commandDescription = "CnosDB (default port: " + CnosDBOptions.DEFAULT_PORT
         + ", default host: " + CnosDBOptions.DEFAULT_HOST + ")")
@@ -20,6 +21,9 @@ public class CnosDBOptions implements DBMSSpecificOptions<CnosDBOracleFactory> {
     @Parameter(names = "--connection-url", description = "Specifies the URL for connecting to the CnosDB", arity = 1)
     public String connectionURL = String.format("http://%s:%d", CnosDBOptions.DEFAULT_HOST, CnosDBOptions.DEFAULT_PORT);
 
+    @Parameter(names = "--max-open-result-sets", description = "The maximum number of result sets that can be open at the same time, each of which keeps a connection to CnosDB")
+    public int maxOpenResultSets = CnosDBClient.DEFAULT_MAX_OPEN_RESULT_SETS;
+
     @Override
     public List<CnosDBOracleFactory> getTestOracleFactory() {
         return oracle;
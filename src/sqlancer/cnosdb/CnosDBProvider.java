@@ -66,7 +66,8 @@ public class CnosDBProvider extends ProviderAdapter<CnosDBGlobalState, CnosDBOpt
         host = globalState.getOptions().getHost();
         port = globalState.getOptions().getPort();
         databaseName = globalState.getDatabaseName();
-        CnosDBClient client = new CnosDBClient(host, port, username, password, databaseName);
+        CnosDBClient client = new CnosDBClient(host, port, username, password, databaseName,
+                globalState.getDbmsSpecificOptions().maxOpenResultSets);
         CnosDBConnection connection = new CnosDBConnection(client);
         client.execute("DROP DATABASE IF EXISTS " + databaseName);
         globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
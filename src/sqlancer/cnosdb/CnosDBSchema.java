@@ -46,36 +46,37 @@ public class CnosDBSchema extends AbstractSchema<CnosDBGlobalState, CnosDBSchema
     }
 
     public static CnosDBSchema fromConnection(CnosDBConnection con) throws Exception {
-        CnosDBResultSet tablesRes = con.getClient().executeQuery("SHOW TABLES");
-
         List<CnosDBTable> tables = new ArrayList<>();
-        while (tablesRes.next()) {
-            String tableName = tablesRes.getString(1);
-            List<CnosDBColumn> columns = getTableColumns(con, tableName);
-            tables.add(new CnosDBTable(tableName, columns));
+        try (CnosDBResultSet tablesRes = con.getClient().executeQuery("SHOW TABLES")) {
+            while (tablesRes.next()) {
+                String tableName = tablesRes.getString(1);
+                List<CnosDBColumn> columns = getTableColumns(con, tableName);
+                tables.add(new CnosDBTable(tableName, columns));
+            }
         }
 
         return new CnosDBSchema(tables, con.getClient().getDatabase());
     }
 
     protected static List<CnosDBColumn> getTableColumns(CnosDBConnection con, String tableName) throws Exception {
-        CnosDBResultSet columnsRes = con.getClient().executeQuery("DESCRIBE TABLE " + tableName);
         List<CnosDBColumn> columns = new ArrayList<>();
         CnosDBTable table = new CnosDBTable(tableName, columns);
-        while (columnsRes.next()) {
-            String columnName = columnsRes.getString(1);
-            String columnType = columnsRes.getString(3).toLowerCase();
-            CnosDBDataType dataType = CnosDBSchema.getColumnType(columnsRes.getString(2));
-            CnosDBColumn column;
-            if (columnType.contentEquals("time")) {
-                column = new CnosDBTimeColumn();
-            } else if (columnType.contentEquals("tag")) {
-                column = new CnosDBTagColumn(columnName);
-            } else {
-                column = new CnosDBFieldColumn(columnName, dataType);
+        try (CnosDBResultSet columnsRes = con.getClient().executeQuery("DESCRIBE TABLE " + tableName)) {
+            while (columnsRes.next()) {
+                String columnName = columnsRes.getString(1);
+                String columnType = columnsRes.getString(3).toLowerCase();
+                CnosDBDataType dataType = CnosDBSchema.getColumnType(columnsRes.getString(2));
+                CnosDBColumn column;
+                if (columnType.contentEquals("time")) {
+                    column = new CnosDBTimeColumn();
+                } else if (columnType.contentEquals("tag")) {
+                    column = new CnosDBTagColumn(columnName);
+                } else {
+                    column = new CnosDBFieldColumn(columnName, dataType);
+                }
+                column.setTable(table);
+                columns.add(column);
             }
-            column.setTable(table);
-            columns.add(column);
         }
 
         return columns;
@@ -199,9 +200,8 @@ public class CnosDBSchema extends AbstractSchema<CnosDBGlobalState, CnosDBSchema
         @Override
         public long getNrRows(CnosDBGlobalState globalState) {
             long res;
-            try {
-                CnosDBResultSet tableCountRes = globalState.getConnection().getClient()
-                        .executeQuery("SELECT COUNT(time) FROM " + this.name);
+            try (CnosDBResultSet tableCountRes = globalState.getConnection().getClient()
+                    .executeQuery("SELECT COUNT(time) FROM " + this.name)) {
                 tableCountRes.next();
                 res = tableCountRes.getLong(1);
             } catch (Exception e) {
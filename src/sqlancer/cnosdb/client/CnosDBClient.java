@@ -1,12 +1,14 @@
 package sqlancer.cnosdb.client;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.HttpHeaders;
@@ -18,25 +20,61 @@ import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Executes statements through the HTTP API of CnosDB. The connections to the server are kept alive and reused, and the
+ * result of a query is parsed while it is read from the response, so that a large result is not held in memory as a
+ * whole.
+ *
+ * Since a result set keeps its connection until it is read to the end or closed, the number of result sets that can be
+ * open at the same time is bounded by the number of connections. A query that would exceed this bound fails with an
+ * AssertionError, since a result set that is neither read to the end nor closed is a resource leak of its caller.
+ */
+public class CnosDBClient {
 
-import com.arangodb.internal.util.IOUtils;
+    public static final int DEFAULT_MAX_OPEN_RESULT_SETS = 4;
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+    private static final int MAX_IDLE_SECONDS = 30;
 
-public class CnosDBClient {
-    private final String userName;
-    private final String password;
     private final String host;
     private final int port;
 
     private final String database;
+    private final String authorization;
+    private final URI sqlUri;
     private final CloseableHttpClient client;
+    private final int maxOpenResultSets;
+    private final Deque<CnosDBResultSet> openResultSets = new ArrayDeque<>();
 
     public CnosDBClient(String host, int port, String userName, String password, String database) {
+        this(host, port, userName, password, database, DEFAULT_MAX_OPEN_RESULT_SETS);
+    }
+
+    public CnosDBClient(String host, int port, String userName, String password, String database,
+            int maxOpenResultSets) {
+        if (maxOpenResultSets < 1) {
+            throw new IllegalArgumentException("at least one result set must be allowed: " + maxOpenResultSets);
+        }
+        this.maxOpenResultSets = maxOpenResultSets;
         this.host = host;
         this.port = port;
-        this.userName = userName;
-        this.password = password;
         this.database = database;
-        this.client = HttpClientBuilder.create().build();
+        this.authorization = getAuth(userName, password);
+        try {
+            this.sqlUri = new URIBuilder(this.url() + "sql").setParameter("db", database).build();
+        } catch (URISyntaxException e) {
+            throw new AssertionError(e);
+        }
+        // a further connection is used by the statement that is executed while the result sets are open
+        int maxConnections = maxOpenResultSets + 1;
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+        this.client = HttpClientBuilder.create().setConnectionManager(connectionManager)
+                .evictIdleConnections(MAX_IDLE_SECONDS, TimeUnit.SECONDS).build();
     }
 
     private String url() {
@@ -45,41 +83,57 @@ public class CnosDBClient {
 
     public String ping() throws Exception {
         HttpGet httpGet = new HttpGet(this.url() + "ping");
-        httpGet.setHeader(HttpHeaders.AUTHORIZATION, getAuth());
-        CloseableHttpResponse resp = client.execute(httpGet);
-
-        String content = IOUtils.toString(resp.getEntity().getContent());
-        resp.close();
-        return content;
+        httpGet.setHeader(HttpHeaders.AUTHORIZATION, authorization);
+        try (CloseableHttpResponse resp = client.execute(httpGet)) {
+            return EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+        }
     }
 
     public CnosDBResultSet executeQuery(String query) throws Exception {
-        HttpUriRequest request = createRequest(query);
-        CloseableHttpResponse resp = client.execute(request);
-        String text = IOUtils.toString(resp.getEntity().getContent());
+        openResultSets.removeIf(CnosDBResultSet::isClosed);
+        if (openResultSets.size() >= maxOpenResultSets) {
+            throw new AssertionError(String.format(
+                    "%d result sets are open, which must be read to the end or closed before executing %s",
+                    openResultSets.size(), query));
+        }
+        CloseableHttpResponse resp = executeRequest(query);
         if (resp.getStatusLine().getStatusCode() != 200) {
-            resp.close();
+            String text;
+            try {
+                text = EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+            } finally {
+                resp.close();
+            }
             throw new CnosDBException(database + ":" + query + ";\n" + text);
         }
-        resp.close();
-        InputStream stream = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
-
-        return new CnosDBResultSet(new InputStreamReader(stream));
+        CnosDBResultSet resultSet;
+        try {
+            resultSet = new CnosDBResultSet(
+                    new InputStreamReader(resp.getEntity().getContent(), StandardCharsets.UTF_8), resp);
+        } catch (Exception e) {
+            resp.close();
+            throw e;
+        }
+        openResultSets.add(resultSet);
+        return resultSet;
     }
 
     public boolean execute(String query) throws Exception {
-        HttpUriRequest request = createRequest(query);
-        CloseableHttpResponse resp = client.execute(request);
-        if (resp.getStatusLine().getStatusCode() != 200) {
-            String res = IOUtils.toString(resp.getEntity().getContent());
-            resp.close();
-            throw new CnosDBException(query + res);
+        try (CloseableHttpResponse resp = executeRequest(query)) {
+            if (resp.getStatusLine().getStatusCode() != 200) {
+                throw new CnosDBException(query + EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8));
+            }
+            // reading the response to the end allows its connection to be reused
+            EntityUtils.consume(resp.getEntity());
         }
-        resp.close();
         return true;
     }
 
     public void close() throws IOException {
+        for (CnosDBResultSet resultSet : openResultSets) {
+            resultSet.close();
+        }
+        openResultSets.clear();
         client.close();
     }
 
@@ -87,21 +141,20 @@ public class CnosDBClient {
         return this.database;
     }
 
-    private String getAuth() {
+    private CloseableHttpResponse executeRequest(String query) throws IOException {
+        return client.execute(createRequest(query));
+    }
+
+    private static String getAuth(String userName, String password) {
         String auth = userName + ":" + password;
         byte[] encodedAuth = Base64.encodeBase64(auth.getBytes(StandardCharsets.ISO_8859_1));
-        return "Basic " + new String(encodedAuth);
+        return "Basic " + new String(encodedAuth, StandardCharsets.ISO_8859_1);
 
     }
 
-    private HttpUriRequest createRequest(String query) throws URISyntaxException, UnsupportedEncodingException {
-
-        URIBuilder builder = new URIBuilder(this.url() + "sql");
-        builder.setParameter("db", database);
-        builder.setParameter("pretty", "true");
-        HttpPost httpPost = new HttpPost(builder.build());
-
-        httpPost.setHeader(HttpHeaders.AUTHORIZATION, getAuth());
+    private HttpUriRequest createRequest(String query) throws UnsupportedEncodingException {
+        HttpPost httpPost = new HttpPost(sqlUri);
+        httpPost.setHeader(HttpHeaders.AUTHORIZATION, authorization);
         StringEntity stringEntity = new StringEntity(query);
         httpPost.setEntity(stringEntity);
         return httpPost;
@@ -1,6 +1,9 @@
 package sqlancer.cnosdb.client;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.sql.SQLException;
 import java.util.Iterator;
 
@@ -9,24 +12,63 @@ import org.apache.commons.csv.CSVRecord;
 
 import sqlancer.IgnoreMeException;
 
-public class CnosDBResultSet {
+/**
+ * The result of a query, whose records are parsed from the CSV response when they are read. The response is closed when
+ * the last record has been read, or when the result set is closed.
+ */
+public class CnosDBResultSet implements AutoCloseable {
     private final Iterator<CSVRecord> records;
+    private final Closeable response;
     private CSVRecord next;
+    private boolean exhausted;
+    private boolean closed;
 
     public CnosDBResultSet(Reader in) throws Exception {
+        this(in, in);
+    }
+
+    CnosDBResultSet(Reader in, Closeable response) throws Exception {
         Iterable<CSVRecord> records = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
                 .parse(in);
         this.records = records.iterator();
+        this.response = response;
     }
 
+    @Override
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            response.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
     }
 
     public boolean next() throws SQLException {
-        if (records.hasNext()) {
-            next = records.next();
-            return true;
+        if (exhausted) {
+            return false;
+        }
+        if (closed) {
+            throw new SQLException("the result set was closed before all records were read");
+        }
+        try {
+            if (records.hasNext()) {
+                next = records.next();
+                return true;
+            }
+        } catch (IllegalStateException | UncheckedIOException e) {
+            close();
+            throw new SQLException(e);
         }
+        exhausted = true;
+        close();
         return false;
     }
 
@@ -111,9 +111,10 @@ public class CnosDBTLPAggregateOracle extends CnosDBTLPBase implements TestOracl
         String resultString = null;
 
         CnosDBSelectQuery q = new CnosDBSelectQuery(queryString, CnosDBExpectedError.expectedErrors());
+        CnosDBResultSet result = null;
         try {
             q.executeAndGet(state);
-            CnosDBResultSet result = q.getResultSet();
+            result = q.getResultSet();
 
             if (result == null || !result.next()) {
                 throw new IgnoreMeException();
@@ -125,6 +126,10 @@ public class CnosDBTLPAggregateOracle extends CnosDBTLPBase implements TestOracl
             if (q.getExpectedErrors().errorIsExpected(e.getMessage())) {
                 throw new IgnoreMeException();
             }
+        } finally {
+            if (result != null) {
+                result.close();
+            }
         }
 
         return resultString;
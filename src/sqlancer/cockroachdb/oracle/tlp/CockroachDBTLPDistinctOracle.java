@@ -12,6 +12,7 @@ import sqlancer.cockroachdb.ast.CockroachDBExpression;
 import sqlancer.cockroachdb.ast.CockroachDBNotOperation;
 import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation;
 import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation.CockroachDBUnaryPostfixOperator;
+import sqlancer.common.query.ResultMultiset;
 
 public class CockroachDBTLPDistinctOracle extends CockroachDBTLPBase {
 
@@ -28,7 +29,8 @@ public class CockroachDBTLPDistinctOracle extends CockroachDBTLPBase {
         select.setDistinct(true);
         String originalQueryString = CockroachDBVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
         select.setDistinct(false);
         CockroachDBExpression predicate = gen.generateExpression(CockroachDBDataType.BOOL.get());
         select.setWhereClause(predicate);
@@ -38,7 +40,7 @@ public class CockroachDBTLPDistinctOracle extends CockroachDBTLPBase {
         select.setWhereClause(new CockroachDBUnaryPostfixOperation(predicate, CockroachDBUnaryPostfixOperator.IS_NULL));
         String thirdQueryString = CockroachDBVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultisetNoDuplicates(firstQueryString,
                 secondQueryString, thirdQueryString, combinedString, true, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state);
@@ -15,6 +15,7 @@ import sqlancer.cockroachdb.ast.CockroachDBExpression;
 import sqlancer.cockroachdb.ast.CockroachDBNotOperation;
 import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation;
 import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation.CockroachDBUnaryPostfixOperator;
+import sqlancer.common.query.ResultMultiset;
 
 public class CockroachDBTLPExtendedWhereOracle extends CockroachDBTLPBase {
 
@@ -34,7 +35,8 @@ public class CockroachDBTLPExtendedWhereOracle extends CockroachDBTLPBase {
         select.setWhereClause(originalPredicate);
         String originalQueryString = CockroachDBVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         boolean allowOrderBy = Randomly.getBoolean();
         if (allowOrderBy) {
@@ -48,7 +50,7 @@ public class CockroachDBTLPExtendedWhereOracle extends CockroachDBTLPBase {
                 new CockroachDBUnaryPostfixOperation(predicate, CockroachDBUnaryPostfixOperator.IS_NULL)));
         String thirdQueryString = CockroachDBVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultiset(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, !allowOrderBy, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state);
@@ -11,6 +11,7 @@ import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBVisitor;
 import sqlancer.cockroachdb.ast.CockroachDBColumnReference;
 import sqlancer.cockroachdb.ast.CockroachDBExpression;
+import sqlancer.common.query.ResultMultiset;
 
 public class CockroachDBTLPGroupByOracle extends CockroachDBTLPBase {
 
@@ -27,7 +28,8 @@ public class CockroachDBTLPGroupByOracle extends CockroachDBTLPBase {
         select.setWhereClause(null);
         String originalQueryString = CockroachDBVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         select.setWhereClause(predicate);
         String firstQueryString = CockroachDBVisitor.asString(select);
@@ -36,7 +38,7 @@ public class CockroachDBTLPGroupByOracle extends CockroachDBTLPBase {
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = CockroachDBVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultisetNoDuplicates(firstQueryString,
                 secondQueryString, thirdQueryString, combinedString, true, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state);
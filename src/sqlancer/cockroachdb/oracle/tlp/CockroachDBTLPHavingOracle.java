@@ -10,6 +10,7 @@ import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBDataType;
 import sqlancer.cockroachdb.CockroachDBVisitor;
 import sqlancer.cockroachdb.ast.CockroachDBExpression;
+import sqlancer.common.query.ResultMultiset;
 
 public class CockroachDBTLPHavingOracle extends CockroachDBTLPBase {
 
@@ -34,7 +35,8 @@ public class CockroachDBTLPHavingOracle extends CockroachDBTLPBase {
         select.setHavingClause(null);
         String originalQueryString = CockroachDBVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         CockroachDBExpression predicate = gen.generateExpression(CockroachDBDataType.BOOL.get());
         select.setHavingClause(predicate);
@@ -44,7 +46,7 @@ public class CockroachDBTLPHavingOracle extends CockroachDBTLPBase {
         select.setHavingClause(gen.isNull(predicate));
         String thirdQueryString = CockroachDBVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultiset(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, !orderBy, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state);
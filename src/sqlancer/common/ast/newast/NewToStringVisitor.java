@@ -2,13 +2,31 @@ package sqlancer.common.ast.newast;
 
 import java.util.List;
 
+import sqlancer.common.visitor.RenderingCache;
+
 public abstract class NewToStringVisitor<E> {
 
     protected final StringBuilder sb = new StringBuilder();
+    private final RenderingCache renderingCache = RenderingCache.current();
 
-    @SuppressWarnings("unchecked")
     public void visit(E expr) {
         assert expr != null;
+        if (renderingCache != null && renderingCache.isRegistered(expr)) {
+            String text = renderingCache.get(getClass(), expr);
+            if (text == null) {
+                int start = sb.length();
+                visitUncached(expr);
+                renderingCache.put(getClass(), expr, sb.substring(start));
+            } else {
+                sb.append(text);
+            }
+        } else {
+            visitUncached(expr);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visitUncached(E expr) {
         if (expr instanceof ColumnReferenceNode<?, ?>) {
             sb.append(((ColumnReferenceNode<?, ?>) expr).getColumn().getFullQualifiedName());
         } else if (expr instanceof NewUnaryPostfixOperatorNode<?>) {
@@ -0,0 +1,321 @@
+package sqlancer.common.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A writer for log files that are written after every statement. The text is buffered by the writer and handed to a
+ * single background thread when the writer is flushed, so that a flush does not wait for the file system. The
+ * background thread writes the texts of all writers in the order in which they were handed over, combining consecutive
+ * texts of the same writer into a single write.
+ *
+ * {@link #sync()} waits until all text has been written to the file, which is needed before a bug is reported. When the
+ * JVM shuts down, all handed-over text is written. If the background thread fails to open, write, or close the file of
+ * a writer, the failure is thrown by the next call of the writer, and if the background thread terminates, by all
+ * further calls of all writers.
+ */
+public final class AsyncLogWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final BlockingQueue<Entry> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static Thread writerThread;
+    private static volatile Throwable writerThreadFailure;
+
+    private final File file;
+    private final boolean append;
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean closed;
+
+    // only accessed by the background thread
+    private FileChannel channel;
+    // the first failure of the background thread for this writer
+    private volatile Exception failure;
+
+    private enum Kind {
+        OPEN, WRITE, CLOSE, SYNC
+    }
+
+    private static final class Entry {
+        final Kind kind;
+        final AsyncLogWriter writer;
+        final String text;
+        final CountDownLatch done;
+
+        Entry(Kind kind, AsyncLogWriter writer, String text, CountDownLatch done) {
+            this.kind = kind;
+            this.writer = writer;
+            this.text = text;
+            this.done = done;
+        }
+    }
+
+    /**
+     * Creates a writer for the given file. The file is opened by the background thread, after the texts of all
+     * previously created writers have been written, so that a writer can replace the file of a closed writer.
+     *
+     * @param file
+     *            the file to write to
+     * @param append
+     *            whether the text is appended to the file instead of replacing its content
+     *
+     * @throws AssertionError
+     *             if the file cannot be opened.
+     */
+    public AsyncLogWriter(File file, boolean append) {
+        this.file = file;
+        this.append = append;
+        try {
+            await(new Entry(Kind.OPEN, this, null, new CountDownLatch(1)));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        buffer.append(cbuf, off, len);
+        if (buffer.length() >= BUFFER_SIZE) {
+            handOver();
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        ensureOpen();
+        buffer.append(str);
+        if (buffer.length() >= BUFFER_SIZE) {
+            handOver();
+        }
+    }
+
+    /**
+     * Hands the buffered text to the background thread without waiting for it to be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        handOver();
+    }
+
+    /**
+     * Waits until the text written so far, including the buffered text, has been written to the file.
+     *
+     * @throws IOException
+     *             if the writer has been closed, or the text could not be written.
+     */
+    public void sync() throws IOException {
+        ensureOpen();
+        handOver();
+        await(new Entry(Kind.SYNC, this, null, new CountDownLatch(1)));
+    }
+
+    /**
+     * Waits until the buffered text has been written and the file has been closed.
+     *
+     * @throws IOException
+     *             if the text could not be written, or the file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            handOver();
+            await(new Entry(Kind.CLOSE, this, null, new CountDownLatch(1)));
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("writer for " + file + " is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("could not write " + file, failure);
+        }
+        if (writerThreadFailure != null) {
+            throw new IOException("the log writer thread has terminated", writerThreadFailure);
+        }
+    }
+
+    private void handOver() {
+        if (buffer.length() != 0) {
+            enqueue(new Entry(Kind.WRITE, this, buffer.toString(), null));
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Waits until the texts that all writers have handed over so far have been written.
+     */
+    public static void syncAll() {
+        Entry entry = new Entry(Kind.SYNC, null, null, new CountDownLatch(1));
+        enqueue(entry);
+        try {
+            entry.done.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // waits until the background thread has processed the entry of this writer
+    private void await(Entry entry) throws IOException {
+        enqueue(entry);
+        try {
+            while (!entry.done.await(1, TimeUnit.SECONDS)) {
+                if (writerThreadFailure != null) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+        checkFailure();
+    }
+
+    private static void enqueue(Entry entry) {
+        startWriterThread();
+        try {
+            // the queue is no longer emptied once the background thread has terminated
+            while (!QUEUE.offer(entry, 1, TimeUnit.SECONDS)) {
+                if (writerThreadFailure != null) {
+                    throw new AssertionError("the log writer thread has terminated", writerThreadFailure);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private static synchronized void startWriterThread() {
+        if (writerThread != null) {
+            return;
+        }
+        writerThread = new Thread(AsyncLogWriter::writeEntries, "sqlancer-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogWriter::syncAll));
+    }
+
+    private static void writeEntries() {
+        try {
+            List<Entry> entries = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                try {
+                    entries.add(QUEUE.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                QUEUE.drainTo(entries);
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    try {
+                        writeEntry(entry, i + 1 < entries.size() ? entries.get(i + 1) : null, text);
+                    } catch (RuntimeException e) {
+                        // the failure is thrown by the next call of the writer, and further writers are not affected
+                        text.setLength(0);
+                        if (entry.writer != null) {
+                            entry.writer.recordFailure(e);
+                        }
+                    }
+                    if (entry.done != null) {
+                        entry.done.countDown();
+                    }
+                }
+                entries.clear();
+            }
+        } catch (Error e) {
+            writerThreadFailure = e;
+            throw e;
+        }
+    }
+
+    private static void writeEntry(Entry entry, Entry nextEntry, StringBuilder text) {
+        switch (entry.kind) {
+        case OPEN:
+            entry.writer.open();
+            break;
+        case WRITE:
+            text.append(entry.text);
+            if (nextEntry == null || nextEntry.kind != Kind.WRITE || nextEntry.writer != entry.writer) {
+                entry.writer.writeToChannel(text);
+                text.setLength(0);
+            }
+            break;
+        case CLOSE:
+            entry.writer.closeChannel();
+            break;
+        case SYNC:
+            break;
+        default:
+            throw new AssertionError(entry.kind);
+        }
+    }
+
+    private void open() {
+        try {
+            if (append) {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            } else {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        } catch (IOException e) {
+            recordFailure(e);
+        }
+    }
+
+    private void recordFailure(Exception e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private void writeToChannel(CharSequence text) {
+        if (channel == null) {
+            return;
+        }
+        ByteBuffer bytes = Charset.defaultCharset().encode(text.toString());
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            recordFailure(e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            recordFailure(e);
+        }
+        channel = null;
+    }
+
+}
@@ -3,31 +3,56 @@ package sqlancer.common.oracle;
 import java.util.List;
 
 import sqlancer.GlobalState;
+import sqlancer.IgnoreMeException;
+import sqlancer.Metrics;
 
 public class CompositeTestOracle<G extends GlobalState<?, ?, ?>> implements TestOracle<G> {
 
     private final List<TestOracle<G>> oracles;
-    private final G globalState;
-    private int i;
+    private final OracleScheduler scheduler;
     private int iLast;
 
     public CompositeTestOracle(List<TestOracle<G>> oracles, G globalState) {
-        this.globalState = globalState;
         this.oracles = oracles;
+        this.scheduler = new OracleScheduler(oracles, globalState.getOptions().getOracleScheduling());
     }
 
     @Override
     public void check() throws Exception {
+        int i = scheduler.nextOracle();
+        TestOracle<G> oracle = oracles.get(i);
+        long startStatements = Metrics.getStatementsOfCurrentThread();
+        long startNanos = System.nanoTime();
         try {
-            oracles.get(i).check();
-            iLast = i;
-            boolean lastOracleIndex = i == oracles.size() - 1;
-            if (!lastOracleIndex) {
-                globalState.getManager().incrementSelectQueryCount();
-            }
-        } finally {
-            i = (i + 1) % oracles.size();
+            oracle.check();
+        } catch (IgnoreMeException e) {
+            recordCheck(i, false, System.nanoTime() - startNanos,
+                    Metrics.getStatementsOfCurrentThread() - startStatements);
+            throw e;
         }
+        recordCheck(i, true, System.nanoTime() - startNanos, Metrics.getStatementsOfCurrentThread() - startStatements);
+        iLast = i;
+    }
+
+    private void recordCheck(int i, boolean valid, long nanos, long nrStatements) {
+        Metrics.recordOracleCheck(oracles.get(i), valid, nanos, nrStatements);
+        scheduler.recordCheck(i, valid, nanos, nrStatements);
+    }
+
+    /**
+     * Counts a query plan that no thread had observed before and that was found by the last valid check.
+     */
+    public void recordNewQueryPlan() {
+        scheduler.recordNewQueryPlan(iLast);
+    }
+
+    /**
+     * Gets the oracle whose check was the last one that did not throw an exception.
+     *
+     * @return the oracle
+     */
+    public TestOracle<G> getLastOracle() {
+        return oracles.get(iLast);
     }
 
     @Override
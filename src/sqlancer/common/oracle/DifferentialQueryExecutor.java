@@ -0,0 +1,263 @@
+package sqlancer.common.oracle;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import sqlancer.ComparatorHelper;
+import sqlancer.SQLConnection;
+import sqlancer.SQLGlobalState;
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ResultMultiset;
+import sqlancer.common.query.SQLQueryAdapter;
+
+/**
+ * Executes variants of a query, such as the query with different hints or under different optimizer settings, for
+ * differential oracles like DQP. If --dqp-sessions is greater than 0, the variants are executed concurrently on that
+ * many additional sessions to the database, and the result of each variant is checked as soon as it is available, so
+ * that a check takes about as long as its slowest variants. Otherwise, the variants are executed one after another on
+ * the connection of the global state.
+ *
+ * The sessions are opened when they are first needed and closed together with the connection of the global state.
+ * Before the variants are executed, the session-scoped settings that were changed on the connection of the global
+ * state are applied to the sessions, so that they execute the variants under the same settings as the original query.
+ * Since each variant sets and resets its setting on the session that executes it, a setting does not affect the
+ * other variants.
+ */
+public final class DifferentialQueryExecutor {
+
+    private static final ExecutorService SESSION_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "sqlancer-dqp-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @FunctionalInterface
+    public interface SessionOpener {
+        SQLConnection open() throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface ResultChecker {
+        void check(Variant variant, ResultMultiset result);
+    }
+
+    /**
+     * A query, optionally with a statement that changes a setting before the query and one that resets it afterwards.
+     */
+    public static final class Variant {
+        private final String setting;
+        private final String query;
+        private final String reset;
+
+        private Variant(String setting, String query, String reset) {
+            this.setting = setting;
+            this.query = query;
+            this.reset = reset;
+        }
+
+        public static Variant of(String query) {
+            return new Variant(null, query, null);
+        }
+
+        public static Variant withSetting(String setting, String query, String reset) {
+            return new Variant(setting, query, reset);
+        }
+
+        public String getSetting() {
+            return setting;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+    }
+
+    private static final class Outcome {
+        private final Variant variant;
+        private final ResultMultiset result;
+        private final Throwable failure;
+
+        Outcome(Variant variant, ResultMultiset result, Throwable failure) {
+            this.variant = variant;
+            this.result = result;
+            this.failure = failure;
+        }
+    }
+
+    private final SQLGlobalState<?, ?> state;
+    private final ExpectedErrors errors;
+    private final SessionOpener opener;
+    private final List<SQLConnection> sessions = new ArrayList<>();
+    private SQLConnection sessionsOwner;
+    // the number of session settings of the global state that have been applied to the sessions
+    private int nrAppliedSettings;
+
+    public DifferentialQueryExecutor(SQLGlobalState<?, ?> state, ExpectedErrors errors, SessionOpener opener) {
+        this.state = state;
+        this.errors = errors;
+        this.opener = opener;
+    }
+
+    /**
+     * Executes the variants and checks the result of each of them, in the order in which the results are available.
+     *
+     * @param variants
+     *            the variants to execute
+     * @param checker
+     *            checks the result of a variant, for example, by comparing it with the result of the original query
+     *
+     * @throws SQLException
+     *             if a session cannot be opened, or a setting cannot be changed
+     */
+    public void execute(List<Variant> variants, ResultChecker checker) throws SQLException {
+        int nrSessions = state.getOptions().getNrDQPSessions();
+        if (nrSessions == 0) {
+            for (Variant variant : variants) {
+                checker.check(variant, executeOnConnection(variant));
+            }
+            return;
+        }
+        List<SQLConnection> currentSessions = getSessions(nrSessions);
+        if (state.getOptions().logEachSelect()) {
+            for (Variant variant : variants) {
+                if (variant.setting != null) {
+                    state.getLogger().writeCurrent(variant.setting);
+                }
+                state.getLogger().writeCurrent(variant.query);
+            }
+        }
+        BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        AtomicInteger nextVariant = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Future<?>> sessionTasks = new ArrayList<>();
+        for (SQLConnection session : currentSessions) {
+            sessionTasks.add(SESSION_EXECUTOR.submit(() -> {
+                while (!stopped.get()) {
+                    int i = nextVariant.getAndIncrement();
+                    if (i >= variants.size()) {
+                        break;
+                    }
+                    outcomes.add(executeOnSession(session, variants.get(i)));
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < variants.size(); i++) {
+                Outcome outcome = outcomes.take();
+                if (outcome.failure != null) {
+                    throwFailure(outcome.failure);
+                }
+                checker.check(outcome.variant, outcome.result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        } finally {
+            // the sessions must be idle before they are used by the next check
+            stopped.set(true);
+            awaitAll(sessionTasks);
+        }
+    }
+
+    private ResultMultiset executeOnConnection(Variant variant) throws SQLException {
+        if (variant.setting != null) {
+            new SQLQueryAdapter(variant.setting).execute(state);
+        }
+        try {
+            return ComparatorHelper.getResultSetFirstColumnAsMultiset(variant.query, errors, state);
+        } finally {
+            if (variant.reset != null) {
+                new SQLQueryAdapter(variant.reset).execute(state);
+            }
+        }
+    }
+
+    private Outcome executeOnSession(SQLConnection session, Variant variant) {
+        try {
+            if (variant.setting != null) {
+                executeSetting(session, variant.setting);
+            }
+            try {
+                return new Outcome(variant,
+                        ComparatorHelper.getResultSetFirstColumnAsMultiset(variant.query, errors, state, session),
+                        null);
+            } finally {
+                if (variant.reset != null) {
+                    executeSetting(session, variant.reset);
+                }
+            }
+        } catch (Throwable e) {
+            return new Outcome(variant, null, e);
+        }
+    }
+
+    private static void executeSetting(SQLConnection session, String setting) {
+        try (Statement s = session.createStatement()) {
+            s.execute(setting);
+        } catch (SQLException e) {
+            throw new AssertionError(setting, e);
+        }
+    }
+
+    private static void throwFailure(Throwable failure) throws SQLException {
+        if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else {
+            throw new AssertionError(failure);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> sessionTasks) {
+        for (Future<?> sessionTask : sessionTasks) {
+            try {
+                sessionTask.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    // the sessions of a previous connection, for example, one closed by a reducer, are opened again
+    private List<SQLConnection> getSessions(int nrSessions) throws SQLException {
+        if (sessionsOwner != state.getConnection()) {
+            sessions.clear();
+            sessionsOwner = state.getConnection();
+            nrAppliedSettings = 0;
+        }
+        List<String> settings = state.getSessionSettings();
+        for (SQLConnection session : sessions) {
+            applySettings(session, settings.subList(nrAppliedSettings, settings.size()));
+        }
+        while (sessions.size() < nrSessions) {
+            SQLConnection session = opener.open();
+            sessionsOwner.addSession(session);
+            applySettings(session, settings);
+            sessions.add(session);
+        }
+        nrAppliedSettings = settings.size();
+        return sessions;
+    }
+
+    private static void applySettings(SQLConnection session, List<String> settings) {
+        for (String setting : settings) {
+            executeSetting(session, setting);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package sqlancer.common.oracle;
 
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -19,6 +20,7 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTable;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
+import sqlancer.common.visitor.RenderingCache;
 
 public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>, E extends Expression<C>, S extends AbstractSchema<?, T>, T extends AbstractTable<C, ?, ?>, C extends AbstractTableColumn<?, ?>, G extends SQLGlobalState<?, S>>
         implements TestOracle<G> {
@@ -70,15 +72,20 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
         E randomWhereCondition = gen.generateBooleanExpression();
 
         boolean shouldUseAggregate = Randomly.getBoolean();
-        String optimizedQueryString = gen.generateOptimizedQueryString(select, randomWhereCondition,
-                shouldUseAggregate);
+        String optimizedQueryString;
+        String unoptimizedQueryString;
+        // both queries contain the condition, so it is rendered only once
+        RenderingCache.enable(List.of(randomWhereCondition));
+        try {
+            optimizedQueryString = gen.generateOptimizedQueryString(select, randomWhereCondition,
+                    shouldUseAggregate);
+            unoptimizedQueryString = gen.generateUnoptimizedQueryString(select, randomWhereCondition);
+        } finally {
+            RenderingCache.disable();
+        }
         lastQueryString = optimizedQueryString;
         if (state.getOptions().logEachSelect()) {
             state.getLogger().writeCurrent(optimizedQueryString);
-        }
-
-        String unoptimizedQueryString = gen.generateUnoptimizedQueryString(select, randomWhereCondition);
-        if (state.getOptions().logEachSelect()) {
             state.getLogger().writeCurrent(unoptimizedQueryString);
         }
 
@@ -0,0 +1,117 @@
+package sqlancer.common.oracle;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import sqlancer.MainOptions.OracleScheduling;
+import sqlancer.Metrics;
+import sqlancer.Metrics.OracleStatistics;
+
+/**
+ * Chooses the oracle of each check of a {@link CompositeTestOracle}. Unless the oracles are checked in turn, the choice
+ * is a multi-armed bandit whose arms have costs: each oracle is scored by an upper confidence bound of its reward per
+ * check, which is a valid check or a new query plan, divided by its average cost per check, which is its duration or
+ * the number of statements it executed. The statistics of an oracle are shared by the composite oracles of all threads
+ * and databases, so that the oracles are scored by all of their checks, and an oracle that has not been checked yet is
+ * chosen first. They are kept per position of the oracle in its composite oracle, rather than per class like those of
+ * {@link Metrics}, so that several oracles of the same class are scored separately.
+ */
+final class OracleScheduler {
+
+    // the minimum cost of a check, so that the checks of an oracle that are too fast to measure are not free
+    private static final double MIN_NANOS = 1_000;
+    private static final double MIN_STATEMENTS = 1;
+
+    // the statistics by the position and class of an oracle
+    private static final ConcurrentMap<String, OracleStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private final OracleStatistics[] statistics;
+    private final OracleScheduling scheduling;
+    private int next;
+
+    OracleScheduler(List<? extends TestOracle<?>> oracles, OracleScheduling scheduling) {
+        this.scheduling = scheduling;
+        this.statistics = new OracleStatistics[oracles.size()];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = STATISTICS.computeIfAbsent(i + ":" + oracles.get(i).getClass().getName(),
+                    k -> new OracleStatistics());
+        }
+    }
+
+    /**
+     * Counts a check of the oracle at the given position.
+     *
+     * @param i
+     *            the index of the oracle
+     * @param valid
+     *            whether the check was valid
+     * @param nanos
+     *            the duration of the check
+     * @param nrStatements
+     *            the number of statements that the check executed
+     */
+    void recordCheck(int i, boolean valid, long nanos, long nrStatements) {
+        statistics[i].recordCheck(valid, nanos, nrStatements);
+    }
+
+    void recordNewQueryPlan(int i) {
+        statistics[i].recordNewQueryPlan();
+    }
+
+    /**
+     * Chooses the oracle of the next check.
+     *
+     * @return the index of the oracle
+     */
+    int nextOracle() {
+        if (scheduling == OracleScheduling.ROUND_ROBIN) {
+            int i = next;
+            next = (next + 1) % statistics.length;
+            return i;
+        }
+        long totalChecks = 0;
+        for (int i = 0; i < statistics.length; i++) {
+            long checks = statistics[i].getChecks();
+            if (checks == 0) {
+                return i;
+            }
+            totalChecks += checks;
+        }
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < statistics.length; i++) {
+            double score = getScore(scheduling, statistics[i], totalChecks);
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    static double getScore(OracleScheduling scheduling, OracleStatistics statistics, long totalChecks) {
+        double checks = statistics.getChecks();
+        double rewards;
+        double cost;
+        switch (scheduling) {
+        case VALID_CHECKS_PER_SECOND:
+            rewards = statistics.getValidChecks();
+            cost = Math.max(MIN_NANOS, statistics.getNanos() / checks);
+            break;
+        case VALID_CHECKS_PER_STATEMENT:
+            rewards = statistics.getValidChecks();
+            cost = Math.max(MIN_STATEMENTS, statistics.getStatements() / checks);
+            break;
+        case NEW_QUERY_PLANS_PER_SECOND:
+            rewards = statistics.getNewQueryPlans();
+            cost = Math.max(MIN_NANOS, statistics.getNanos() / checks);
+            break;
+        default:
+            throw new AssertionError(scheduling);
+        }
+        double upperConfidenceBound = Math.min(1, rewards / checks) + Math.sqrt(2 * Math.log(totalChecks) / checks);
+        return upperConfidenceBound / cost;
+    }
+
+}
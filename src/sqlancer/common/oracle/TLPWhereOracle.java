@@ -13,10 +13,12 @@ import sqlancer.common.ast.newast.Join;
 import sqlancer.common.ast.newast.Select;
 import sqlancer.common.gen.TLPWhereGenerator;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTable;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
+import sqlancer.common.visitor.RenderingCache;
 
 public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>, E extends Expression<C>, S extends AbstractSchema<?, T>, T extends AbstractTable<C, ?, ?>, C extends AbstractTableColumn<?, ?>, G extends SQLGlobalState<?, S>>
         implements TestOracle<G> {
@@ -34,11 +36,11 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
         final String secondQueryString;
         final String thirdQueryString;
         final String originalQueryString;
-        final List<String> resultSet;
+        final ResultMultiset resultSet;
         final boolean orderBy;
 
         TLPWhereReproducer(String firstQueryString, String secondQueryString, String thirdQueryString,
-                String originalQueryString, List<String> resultSet, boolean orderBy) {
+                String originalQueryString, ResultMultiset resultSet, boolean orderBy) {
             this.firstQueryString = firstQueryString;
             this.secondQueryString = secondQueryString;
             this.thirdQueryString = thirdQueryString;
@@ -51,7 +53,7 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
         public boolean bugStillTriggers(G globalState) {
             try {
                 List<String> combinedString1 = new ArrayList<>();
-                List<String> secondResultSet1 = ComparatorHelper.getCombinedResultSet(firstQueryString,
+                ResultMultiset secondResultSet1 = ComparatorHelper.getCombinedResultMultiset(firstQueryString,
                         secondQueryString, thirdQueryString, combinedString1, !orderBy, globalState, errors);
                 ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet1, originalQueryString,
                         combinedString1, globalState);
@@ -89,7 +91,7 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
 
         String originalQueryString = select.asString();
         generatedQueryString = originalQueryString;
-        List<String> firstResultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors,
+        ResultMultiset firstResultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
                 state);
 
         boolean orderBy = Randomly.getBooleanWithSmallProbability();
@@ -99,15 +101,24 @@ public class TLPWhereOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C
 
         TestOracleUtils.PredicateVariants<E, C> predicates = TestOracleUtils.initializeTernaryPredicateVariants(gen,
                 gen.generateBooleanExpression());
-        select.setWhereClause(predicates.predicate);
-        String firstQueryString = select.asString();
-        select.setWhereClause(predicates.negatedPredicate);
-        String secondQueryString = select.asString();
-        select.setWhereClause(predicates.isNullPredicate);
-        String thirdQueryString = select.asString();
+        String firstQueryString;
+        String secondQueryString;
+        String thirdQueryString;
+        // the negated and IS NULL variants share the predicate, so it is rendered only once
+        RenderingCache.enable(List.of(predicates.predicate));
+        try {
+            select.setWhereClause(predicates.predicate);
+            firstQueryString = select.asString();
+            select.setWhereClause(predicates.negatedPredicate);
+            secondQueryString = select.asString();
+            select.setWhereClause(predicates.isNullPredicate);
+            thirdQueryString = select.asString();
+        } finally {
+            RenderingCache.disable();
+        }
 
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultiset(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, !orderBy, state, errors);
 
         ComparatorHelper.assumeResultSetsAreEqual(firstResultSet, secondResultSet, originalQueryString, combinedString,
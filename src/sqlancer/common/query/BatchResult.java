@@ -0,0 +1,35 @@
+package sqlancer.common.query;
+
+/**
+ * The outcome of a batch of statements, of which only the leading statements might have been executed.
+ */
+public final class BatchResult {
+
+    private final int nrExecuted;
+    private final Exception failure;
+
+    public BatchResult(int nrExecuted, Exception failure) {
+        this.nrExecuted = nrExecuted;
+        this.failure = failure;
+    }
+
+    /**
+     * Gets the number of leading statements that were executed, including a failed last statement.
+     *
+     * @return the number of executed statements
+     */
+    public int getNrExecuted() {
+        return nrExecuted;
+    }
+
+    /**
+     * Gets the exception with which the last executed statement failed. It has not yet been checked against the
+     * expected errors of the statement.
+     *
+     * @return the exception, or null if all executed statements were executed successfully
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+}
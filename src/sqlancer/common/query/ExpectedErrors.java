@@ -1,11 +1,14 @@
 package sqlancer.common.query;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * This class represents the errors that executing a statement might result in. For example, an INSERT statement might
@@ -15,9 +18,19 @@ import java.util.regex.Pattern;
 public class ExpectedErrors implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /*
+     * Instances that are only queried once (e.g., those created for a single INSERT statement) are checked by a linear
+     * scan, since compiling them would not pay off.
+     */
+    private static final int NR_QUERIES_BEFORE_COMPILATION = 2;
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(\\d|k<)");
+
     private final Set<String> errors;
     private final Set<Pattern> regexes;
 
+    private transient volatile CompiledErrors compiledErrors;
+    private transient int nrQueries;
+
     public ExpectedErrors() {
         this.errors = new HashSet<>();
         this.regexes = new HashSet<>();
@@ -33,6 +46,7 @@ public class ExpectedErrors implements Serializable {
             throw new IllegalArgumentException();
         }
         errors.add(error);
+        invalidateCompiledErrors();
         return this;
     }
 
@@ -41,6 +55,7 @@ public class ExpectedErrors implements Serializable {
             throw new IllegalArgumentException();
         }
         regexes.add(errorPattern);
+        invalidateCompiledErrors();
         return this;
     }
 
@@ -49,6 +64,7 @@ public class ExpectedErrors implements Serializable {
             throw new IllegalArgumentException();
         }
         regexes.add(Pattern.compile(errorPattern));
+        invalidateCompiledErrors();
         return this;
     }
 
@@ -57,6 +73,7 @@ public class ExpectedErrors implements Serializable {
             throw new IllegalArgumentException();
         }
         errors.addAll(list);
+        invalidateCompiledErrors();
         return this;
     }
 
@@ -65,6 +82,7 @@ public class ExpectedErrors implements Serializable {
             throw new IllegalArgumentException();
         }
         regexes.addAll(list);
+        invalidateCompiledErrors();
         return this;
     }
 
@@ -72,9 +90,15 @@ public class ExpectedErrors implements Serializable {
         for (String error : list) {
             regexes.add(Pattern.compile(error));
         }
+        invalidateCompiledErrors();
         return this;
     }
 
+    private void invalidateCompiledErrors() {
+        compiledErrors = null;
+        nrQueries = 0;
+    }
+
     public static ExpectedErrors from(String... errors) {
         return newErrors().with(errors).build();
     }
@@ -96,6 +120,14 @@ public class ExpectedErrors implements Serializable {
         if (error == null) {
             throw new IllegalArgumentException();
         }
+        CompiledErrors compiled = compiledErrors;
+        if (compiled == null && ++nrQueries >= NR_QUERIES_BEFORE_COMPILATION) {
+            compiled = new CompiledErrors(errors, regexes);
+            compiledErrors = compiled;
+        }
+        if (compiled != null) {
+            return compiled.matches(error);
+        }
         for (String s : this.errors) {
             if (error.contains(s)) {
                 return true;
@@ -109,6 +141,53 @@ public class ExpectedErrors implements Serializable {
         return false;
     }
 
+    /**
+     * The expected errors compiled into an Aho-Corasick automaton for the substrings and, where possible, a single
+     * alternation for the regexes. Regexes with flags or back references are matched separately, as merging them would
+     * change their semantics.
+     */
+    private static final class CompiledErrors {
+
+        private final SubstringMatcher substrings;
+        private final List<Pattern> regexes = new ArrayList<>();
+
+        CompiledErrors(Set<String> errors, Set<Pattern> patterns) {
+            this.substrings = new SubstringMatcher(errors);
+            List<String> mergeable = new ArrayList<>();
+            for (Pattern p : patterns) {
+                if (p.flags() == 0 && !BACK_REFERENCE.matcher(p.pattern()).find()) {
+                    mergeable.add("(?:" + p.pattern() + ")");
+                } else {
+                    regexes.add(p);
+                }
+            }
+            if (mergeable.size() == 1) {
+                regexes.add(Pattern.compile(mergeable.get(0)));
+            } else if (mergeable.size() > 1) {
+                try {
+                    regexes.add(Pattern.compile(String.join("|", mergeable)));
+                } catch (PatternSyntaxException e) {
+                    // for example, the same named group is used in multiple patterns
+                    for (String pattern : mergeable) {
+                        regexes.add(Pattern.compile(pattern));
+                    }
+                }
+            }
+        }
+
+        boolean matches(String error) {
+            if (substrings.containsAny(error)) {
+                return true;
+            }
+            for (Pattern p : regexes) {
+                if (p.matcher(error).find()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     public static class ExpectedErrorsBuilder {
         private final Set<String> errors = new HashSet<>();
         private final Set<Pattern> regexes = new HashSet<>();
@@ -7,6 +7,8 @@ import sqlancer.common.log.Loggable;
 public abstract class Query<C extends SQLancerDBConnection> implements Loggable {
     private static final long serialVersionUID = 1L;
 
+    public static final int UNKNOWN_UPDATE_COUNT = -1;
+
     /**
      * Gets the query string, which is guaranteed to be terminated with a semicolon.
      *
@@ -32,6 +34,16 @@ public abstract class Query<C extends SQLancerDBConnection> implements Loggable
 
     public abstract ExpectedErrors getExpectedErrors();
 
+    /**
+     * Gets the number of rows that the last successful execution of the query inserted, updated, or deleted, as
+     * reported by the DBMS.
+     *
+     * @return the number of changed rows, or {@link #UNKNOWN_UPDATE_COUNT} if it is not known
+     */
+    public int getUpdateCount() {
+        return UNKNOWN_UPDATE_COUNT;
+    }
+
     @Override
     public String toString() {
         return getQueryString();
@@ -0,0 +1,109 @@
+package sqlancer.common.query;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * An order-independent summary of a single-column result set that maps each value to the number of times it occurs.
+ * Unlike a list of all rows, each distinct value is stored only once, and the values by which two results differ are
+ * only computed when a mismatch has been detected.
+ */
+public final class ResultMultiset {
+
+    private final Map<String, int[]> counts = new HashMap<>();
+    private int size;
+
+    public static ResultMultiset of(Collection<String> values) {
+        ResultMultiset multiset = new ResultMultiset();
+        for (String value : values) {
+            multiset.add(value);
+        }
+        return multiset;
+    }
+
+    public void add(String value) {
+        int[] count = counts.get(value);
+        if (count == null) {
+            counts.put(value, new int[] { 1 });
+        } else {
+            count[0]++;
+        }
+        size++;
+    }
+
+    public void addAll(ResultMultiset other) {
+        for (Map.Entry<String, int[]> entry : other.counts.entrySet()) {
+            int[] count = counts.get(entry.getKey());
+            if (count == null) {
+                counts.put(entry.getKey(), new int[] { entry.getValue()[0] });
+            } else {
+                count[0] += entry.getValue()[0];
+            }
+        }
+        size += other.size;
+    }
+
+    /**
+     * Applies the given function to every value, for example, to canonicalize the values before a comparison.
+     *
+     * @param rule
+     *            the function applied to each value
+     *
+     * @return a new multiset that contains the transformed values
+     */
+    public ResultMultiset map(UnaryOperator<String> rule) {
+        ResultMultiset result = new ResultMultiset();
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            String value = rule.apply(entry.getKey());
+            int[] count = result.counts.get(value);
+            if (count == null) {
+                result.counts.put(value, new int[] { entry.getValue()[0] });
+            } else {
+                count[0] += entry.getValue()[0];
+            }
+        }
+        result.size = size;
+        return result;
+    }
+
+    /**
+     * Gets the number of rows, including duplicates.
+     *
+     * @return the number of values that were added
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCount(String value) {
+        int[] count = counts.get(value);
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Checks whether both multisets contain the same distinct values, ignoring how often each of them occurs.
+     *
+     * @param other
+     *            the multiset to compare with
+     *
+     * @return true if every value of each multiset also occurs in the other one
+     */
+    public boolean containsSameValues(ResultMultiset other) {
+        return counts.keySet().equals(other.counts.keySet());
+    }
+
+    public Set<String> getValuesMissingIn(ResultMultiset other) {
+        Set<String> missing = new HashSet<>();
+        for (String value : counts.keySet()) {
+            if (!other.counts.containsKey(value)) {
+                missing.add(value);
+            }
+        }
+        return missing;
+    }
+
+}
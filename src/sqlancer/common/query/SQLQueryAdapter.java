@@ -1,13 +1,16 @@
 package sqlancer.common.query;
 
 import java.io.Serializable;
+import java.sql.BatchUpdateException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
+import java.util.function.ToIntFunction;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.Metrics;
 import sqlancer.SQLConnection;
 
 public class SQLQueryAdapter extends Query<SQLConnection> implements Serializable {
@@ -16,6 +19,7 @@ public class SQLQueryAdapter extends Query<SQLConnection> implements Serializabl
     private final String query;
     private final ExpectedErrors expectedErrors;
     private final boolean couldAffectSchema;
+    private transient int updateCount = UNKNOWN_UPDATE_COUNT;
 
     public SQLQueryAdapter(String query) {
         this(query, new ExpectedErrors());
@@ -139,10 +143,11 @@ public class SQLQueryAdapter extends Query<SQLConnection> implements Serializabl
             } else {
                 s.execute(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            updateCount = s.getUpdateCount();
+            Metrics.incrementSuccessfulStatements();
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            Metrics.incrementUnsuccessfulStatements();
             if (reportException) {
                 checkException(e);
             }
@@ -152,6 +157,133 @@ public class SQLQueryAdapter extends Query<SQLConnection> implements Serializabl
         }
     }
 
+    /**
+     * Checks whether the query can be executed as part of a batch by
+     * {@link #executeBatch(SQLConnection, List, boolean[], ToIntFunction)} instead of by
+     * {@link #execute(GlobalState, String...)}, which is the case for INSERT statements that do not affect the schema.
+     *
+     * @return whether the query can be batched
+     */
+    public boolean canBeBatched() {
+        return getClass() == SQLQueryAdapter.class && !couldAffectSchema
+                && query.regionMatches(true, 0, "INSERT", 0, "INSERT".length());
+    }
+
+    /**
+     * Executes the given queries as a single JDBC batch, which saves the round trips of executing them one by one. The
+     * JDBC driver must stop executing the batch at its first failed query. If the batch fails, the queries before the
+     * failed query are treated like queries executed on their own, and the remaining queries are not executed. The
+     * exception is returned, so that the caller can log the executed queries before it checks the exception against
+     * the expected errors of the failed query.
+     *
+     * @param connection
+     *            the connection on which the batch is executed
+     * @param queries
+     *            the queries, for which {@link #canBeBatched()} holds
+     * @param success
+     *            receives whether each executed query was executed successfully
+     * @param failedQuery
+     *            determines the index of the failed query from the exception of a failed batch, or -1 if the driver
+     *            does not report it, for example, {@link #getFailedQuery(BatchUpdateException, int)}
+     *
+     * @return the number of leading queries that were executed, and the exception of the failed query
+     *
+     * @throws SQLException
+     *             if the batch cannot be executed at all.
+     */
+    public static BatchResult executeBatch(SQLConnection connection, List<SQLQueryAdapter> queries, boolean[] success,
+            ToIntFunction<BatchUpdateException> failedQuery) throws SQLException {
+        int[] updateCounts;
+        try (Statement s = connection.createStatement()) {
+            for (SQLQueryAdapter query : queries) {
+                s.addBatch(query.query);
+            }
+            try {
+                updateCounts = s.executeBatch();
+            } catch (BatchUpdateException e) {
+                int failed = failedQuery.applyAsInt(e);
+                if (failed < 0 || failed >= queries.size()) {
+                    throw new AssertionError("the JDBC driver did not report which query of the batch failed", e);
+                }
+                return recordFailedBatch(queries, e.getUpdateCounts(), failed, e, success);
+            }
+        }
+        return recordBatch(queries, updateCounts, success);
+    }
+
+    /**
+     * Determines the failed query of a batch from the update counts of a driver that stops at the first failed query,
+     * which, as specified by JDBC, reports the update counts of the queries before it only.
+     *
+     * @param e
+     *            the exception of the failed batch
+     * @param nrQueries
+     *            the number of queries of the batch
+     *
+     * @return the index of the failed query, or -1 if the update counts do not indicate it
+     */
+    public static int getFailedQuery(BatchUpdateException e, int nrQueries) {
+        int[] updateCounts = e.getUpdateCounts();
+        return updateCounts != null && updateCounts.length < nrQueries ? updateCounts.length : -1;
+    }
+
+    /**
+     * Records the outcome of a batch whose queries were all executed successfully.
+     *
+     * @param queries
+     *            the queries of the batch
+     * @param updateCounts
+     *            the update count of each query, or {@link Statement#SUCCESS_NO_INFO} if it is unknown
+     * @param success
+     *            receives that each query was executed successfully
+     *
+     * @return the number of queries
+     */
+    public static BatchResult recordBatch(List<SQLQueryAdapter> queries, int[] updateCounts, boolean[] success) {
+        for (int i = 0; i < queries.size(); i++) {
+            recordSuccess(queries.get(i), updateCounts[i]);
+            success[i] = true;
+        }
+        return new BatchResult(queries.size(), null);
+    }
+
+    /**
+     * Records the outcome of a batch that was not executed further after one of its queries failed. The exception is
+     * not checked yet; the caller checks it against the expected errors of the failed query only, using
+     * {@link #checkException(Exception)}.
+     *
+     * @param queries
+     *            the queries of the batch
+     * @param updateCounts
+     *            the update counts of at least the queries before the failed query, or
+     *            {@link Statement#SUCCESS_NO_INFO} for a query whose update count is unknown
+     * @param failed
+     *            the index of the failed query
+     * @param exception
+     *            the exception with which the query failed
+     * @param success
+     *            receives whether each executed query was executed successfully
+     *
+     * @return the number of leading queries that were executed, including the failed query, and the exception
+     */
+    public static BatchResult recordFailedBatch(List<SQLQueryAdapter> queries, int[] updateCounts, int failed,
+            SQLException exception, boolean[] success) {
+        for (int i = 0; i < failed; i++) {
+            recordSuccess(queries.get(i), updateCounts[i]);
+            success[i] = true;
+        }
+        SQLQueryAdapter failedQuery = queries.get(failed);
+        failedQuery.updateCount = UNKNOWN_UPDATE_COUNT;
+        success[failed] = false;
+        Metrics.incrementUnsuccessfulStatements();
+        return new BatchResult(failed + 1, exception);
+    }
+
+    private static void recordSuccess(SQLQueryAdapter query, int updateCount) {
+        query.updateCount = updateCount >= 0 ? updateCount : UNKNOWN_UPDATE_COUNT;
+        Metrics.incrementSuccessfulStatements();
+    }
+
     public void checkException(Exception e) throws AssertionError {
         Throwable ex = e;
 
@@ -177,6 +309,22 @@ public class SQLQueryAdapter extends Query<SQLConnection> implements Serializabl
         return internalExecuteAndGet(globalState.getConnection(), reportException, fills);
     }
 
+    /**
+     * Executes the query on the given connection rather than on the connection of a global state, for example, on
+     * another session to the same database.
+     *
+     * @param connection
+     *            the connection to execute the query on
+     *
+     * @return the result set, or null if the query failed with an expected error
+     *
+     * @throws SQLException
+     *             if the result set cannot be obtained
+     */
+    public SQLancerResultSet executeAndGet(SQLConnection connection) throws SQLException {
+        return internalExecuteAndGet(connection, true);
+    }
+
     protected <G extends GlobalState<?, ?, SQLConnection>> SQLancerResultSet internalExecuteAndGet(
             SQLConnection connection, boolean reportException, String... fills) throws SQLException {
         Statement s;
@@ -195,14 +343,14 @@ public class SQLQueryAdapter extends Query<SQLConnection> implements Serializabl
             } else {
                 result = s.executeQuery(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            Metrics.incrementSuccessfulStatements();
             if (result == null) {
                 return null;
             }
             return new SQLancerResultSet(result);
         } catch (Exception e) {
             s.close();
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            Metrics.incrementUnsuccessfulStatements();
             if (reportException) {
                 checkException(e);
             }
@@ -220,6 +368,11 @@ public class SQLQueryAdapter extends Query<SQLConnection> implements Serializabl
         return expectedErrors;
     }
 
+    @Override
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
     @Override
     public String getLogString() {
         return getQueryString();
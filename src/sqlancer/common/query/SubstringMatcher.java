@@ -0,0 +1,145 @@
+package sqlancer.common.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton that checks whether a text contains any of a fixed set of substrings in a single pass over
+ * the text, independent of the number of substrings.
+ */
+final class SubstringMatcher {
+
+    private static final int ROOT = 0;
+    private static final int ASCII = 128;
+
+    // transitions of state i are the sorted characters transitionChars[i] leading to transitionTargets[i]
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    // most characters of a text are consumed in the root state, so its ASCII transitions are stored in a table
+    private final int[] rootTransitions = new int[ASCII];
+    private final int[] failure;
+    private final boolean[] accepting;
+    private final boolean matchesEverything;
+
+    SubstringMatcher(Collection<String> substrings) {
+        TrieBuilder builder = new TrieBuilder();
+        boolean containsEmptyString = false;
+        for (String s : substrings) {
+            if (s.isEmpty()) {
+                containsEmptyString = true;
+            }
+            builder.insert(s);
+        }
+        this.matchesEverything = containsEmptyString;
+        int nrStates = builder.nrStates;
+        this.transitionChars = new char[nrStates][];
+        this.transitionTargets = new int[nrStates][];
+        this.failure = new int[nrStates];
+        this.accepting = Arrays.copyOf(builder.accepting, nrStates);
+        for (int i = 0; i < nrStates; i++) {
+            Map<Character, Integer> children = builder.children.get(i);
+            transitionChars[i] = new char[children.size()];
+            transitionTargets[i] = new int[children.size()];
+            int j = 0;
+            for (Map.Entry<Character, Integer> child : children.entrySet()) {
+                transitionChars[i][j] = child.getKey();
+                transitionTargets[i][j] = child.getValue();
+                j++;
+            }
+        }
+        for (char c = 0; c < ASCII; c++) {
+            rootTransitions[c] = getTransition(ROOT, c);
+        }
+        computeFailureLinks();
+    }
+
+    private void computeFailureLinks() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != ROOT && getTransition(fallback, c) == -1) {
+                    fallback = failure[fallback];
+                }
+                int target = getTransition(fallback, c);
+                failure[child] = target == -1 ? ROOT : target;
+                accepting[child] |= accepting[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    private int getTransition(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index < 0 ? -1 : transitionTargets[state][index];
+    }
+
+    boolean containsAny(String text) {
+        if (matchesEverything) {
+            return true;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (state == ROOT && c < ASCII) {
+                state = rootTransitions[c] == -1 ? ROOT : rootTransitions[c];
+                if (accepting[state]) {
+                    return true;
+                }
+                continue;
+            }
+            int next = getTransition(state, c);
+            while (next == -1 && state != ROOT) {
+                state = failure[state];
+                next = getTransition(state, c);
+            }
+            state = next == -1 ? ROOT : next;
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class TrieBuilder {
+
+        private final List<Map<Character, Integer>> children = new ArrayList<>(List.of(new TreeMap<>()));
+        private boolean[] accepting = new boolean[1];
+        private int nrStates = 1;
+
+        void insert(String s) {
+            int state = ROOT;
+            for (int i = 0; i < s.length(); i++) {
+                Integer next = children.get(state).get(s.charAt(i));
+                if (next == null) {
+                    next = newState();
+                    children.get(state).put(s.charAt(i), next);
+                }
+                state = next;
+            }
+            accepting[state] = true;
+        }
+
+        private int newState() {
+            if (nrStates == accepting.length) {
+                accepting = Arrays.copyOf(accepting, nrStates * 2);
+            }
+            children.add(new TreeMap<>());
+            return nrStates++;
+        }
+    }
+
+}
@@ -17,20 +17,29 @@ public class AbstractRelationalTable<C extends AbstractTableColumn<?, ?>, I exte
     @Override
     public long getNrRows(G globalState) {
         if (rowCount == NO_ROW_COUNT_AVAILABLE) {
-            SQLQueryAdapter q = new SQLQueryAdapter("SELECT COUNT(*) FROM " + name);
-            try (SQLancerResultSet query = q.executeAndGet(globalState)) {
-                if (query == null) {
-                    throw new IgnoreMeException();
-                }
-                query.next();
-                rowCount = query.getLong(1);
-                return rowCount;
-            } catch (Throwable t) {
-                // an exception might be expected, for example, when invalid view is created
+            rowCount = countRows(globalState);
+        } else if (globalState.shouldVerifyRowCount()) {
+            long actualRowCount = countRows(globalState);
+            if (actualRowCount != rowCount) {
+                throw new AssertionError(String.format(
+                        "the tracked row count %d of %s differs from its actual row count %d", rowCount, name,
+                        actualRowCount));
+            }
+        }
+        return rowCount;
+    }
+
+    private long countRows(G globalState) {
+        SQLQueryAdapter q = new SQLQueryAdapter("SELECT COUNT(*) FROM " + name);
+        try (SQLancerResultSet query = q.executeAndGet(globalState)) {
+            if (query == null) {
                 throw new IgnoreMeException();
             }
-        } else {
-            return rowCount;
+            query.next();
+            return query.getLong(1);
+        } catch (Throwable t) {
+            // an exception might be expected, for example, when invalid view is created
+            throw new IgnoreMeException();
         }
     }
 
@@ -109,9 +109,34 @@ public abstract class AbstractTable<C extends AbstractTableColumn<?, ?>, I exten
 
     }
 
+    /**
+     * Marks the row count as stale, so that the rows are counted again by the next {@link #getNrRows(GlobalState)}.
+     */
     public void recomputeCount() {
         rowCount = NO_ROW_COUNT_AVAILABLE;
     }
 
+    /**
+     * Adjusts the row count, if it is known, by the number of rows that a statement inserted or deleted.
+     *
+     * @param delta
+     *            the number of inserted rows, or the negated number of deleted rows
+     */
+    public void changeCount(long delta) {
+        if (rowCount != NO_ROW_COUNT_AVAILABLE) {
+            rowCount += delta;
+        }
+    }
+
+    /**
+     * Whether the rows of this table only change through statements that directly target it, so that its row count
+     * can be tracked based on the number of rows that these statements changed.
+     *
+     * @return true if the row count can be tracked
+     */
+    public boolean canTrackCount() {
+        return !isView;
+    }
+
     public abstract long getNrRows(G globalState);
 }
@@ -0,0 +1,119 @@
+package sqlancer.common.schema;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import sqlancer.common.query.Query;
+
+/**
+ * The effect of an executed statement on the number of rows of the tables, as far as it can be derived from the query
+ * string and the number of rows that the DBMS reported as changed.
+ */
+public final class RowCountEffect {
+
+    private static final Pattern INSERT = Pattern
+            .compile("^INSERT\\s+(?:OR\\s+(\\w+)\\s+)?INTO\\s+(\\w+)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DELETE = Pattern.compile("^DELETE\\s+FROM\\s+(\\w+)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UPDATE = Pattern.compile("^UPDATE\\s+(?:OR\\s+(\\w+)\\s+)?(\\w+)\\s+SET\\b",
+            Pattern.CASE_INSENSITIVE);
+    // statements that do not add or remove rows of existing tables
+    private static final Pattern NO_EFFECT = Pattern.compile(
+            "^(?:SELECT|EXPLAIN|PRAGMA|ANALYZE|VACUUM|REINDEX|BEGIN|COMMIT|END|CREATE|DROP|ALTER)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final RowCountEffect NONE = new RowCountEffect(null, 0, false);
+    private static final RowCountEffect UNKNOWN = new RowCountEffect(null, 0, true);
+
+    private final String tableName;
+    private final long delta;
+    private final boolean unknown;
+
+    private RowCountEffect(String tableName, long delta, boolean unknown) {
+        this.tableName = tableName;
+        this.delta = delta;
+        this.unknown = unknown;
+    }
+
+    /**
+     * Derives the effect of the given statement. INSERT and DELETE statements change the row count of their target
+     * table by the reported number of rows, and UPDATE statements leave it unchanged. If such a statement failed, or
+     * if it could have replaced existing rows, the row count of the target table is unknown. The row counts of all
+     * tables are unknown after any other statement that could have changed rows, such as a ROLLBACK.
+     *
+     * @param q
+     *            the executed statement
+     * @param success
+     *            whether the statement was executed successfully
+     *
+     * @return the effect of the statement
+     */
+    public static RowCountEffect of(Query<?> q, boolean success) {
+        String query = q.getQueryString().trim();
+        if (NO_EFFECT.matcher(query).find()) {
+            return NONE;
+        }
+        String upperCaseQuery = query.toUpperCase(Locale.ROOT);
+        Matcher matcher = INSERT.matcher(query);
+        if (matcher.find()) {
+            String conflictResolution = matcher.group(1);
+            if (!success || "REPLACE".equalsIgnoreCase(conflictResolution) || upperCaseQuery.contains(" DO UPDATE")) {
+                return getUnknownEffect(matcher.group(2), conflictResolution);
+            }
+            return getKnownEffect(matcher.group(2), q.getUpdateCount(), false);
+        }
+        matcher = DELETE.matcher(query);
+        if (matcher.find()) {
+            if (!success) {
+                return getUnknownEffect(matcher.group(1), null);
+            }
+            return getKnownEffect(matcher.group(1), q.getUpdateCount(), true);
+        }
+        matcher = UPDATE.matcher(query);
+        if (matcher.find()) {
+            String conflictResolution = matcher.group(1);
+            if (!success || "REPLACE".equalsIgnoreCase(conflictResolution)) {
+                return getUnknownEffect(matcher.group(2), conflictResolution);
+            }
+            return new RowCountEffect(matcher.group(2), 0, false);
+        }
+        return UNKNOWN;
+    }
+
+    private static RowCountEffect getKnownEffect(String tableName, int updateCount, boolean removesRows) {
+        if (updateCount == Query.UNKNOWN_UPDATE_COUNT) {
+            return new RowCountEffect(tableName, 0, true);
+        }
+        return new RowCountEffect(tableName, removesRows ? -updateCount : updateCount, false);
+    }
+
+    private static RowCountEffect getUnknownEffect(String tableName, String conflictResolution) {
+        if ("ROLLBACK".equalsIgnoreCase(conflictResolution)) {
+            // the whole transaction is rolled back
+            return UNKNOWN;
+        }
+        return new RowCountEffect(tableName, 0, true);
+    }
+
+    public boolean hasNoEffect() {
+        return this == NONE;
+    }
+
+    /**
+     * Gets the table whose rows the statement changed.
+     *
+     * @return the name of the table, or null if the statement could have changed the rows of any table
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    public boolean isRowCountKnown() {
+        return !unknown;
+    }
+
+    public long getDelta() {
+        return delta;
+    }
+
+}
@@ -0,0 +1,82 @@
+package sqlancer.common.visitor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Memoizes the rendered text of explicitly registered expression subtrees while it is enabled, so that an oracle that
+ * renders several query variants sharing the same subtree (e.g., a TLP predicate, its negation, and its IS NULL
+ * variant) converts that subtree to a string only once. Subtrees are identified by reference, so the caller must not
+ * modify a registered subtree while the cache is enabled.
+ *
+ * The cache applies to the {@link ToStringVisitor} and {@link sqlancer.common.ast.newast.NewToStringVisitor}
+ * instances created on the current thread while it is enabled. Texts are kept per visitor class, since different
+ * visitors can render the same node differently.
+ */
+public final class RenderingCache {
+
+    private static final ThreadLocal<RenderingCache> CURRENT = new ThreadLocal<>();
+
+    private final RenderingCache previous;
+    private final Map<Object, Boolean> roots = new IdentityHashMap<>();
+    private final Map<Class<?>, Map<Object, String>> renderedTexts = new HashMap<>();
+
+    private RenderingCache(RenderingCache previous, Collection<?> roots) {
+        this.previous = previous;
+        for (Object root : roots) {
+            this.roots.put(root, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Enables a cache for the given subtrees on the current thread. The cache must be disabled by the same thread,
+     * which is best ensured by a finally block.
+     *
+     * @param roots
+     *            the subtrees whose rendered text should be reused
+     */
+    public static void enable(Collection<?> roots) {
+        CURRENT.set(new RenderingCache(CURRENT.get(), roots));
+    }
+
+    /**
+     * Disables the innermost cache that is enabled on the current thread, after which the previously enabled cache, if
+     * any, is used again.
+     */
+    public static void disable() {
+        RenderingCache cache = CURRENT.get();
+        if (cache == null) {
+            throw new IllegalStateException("no rendering cache is enabled");
+        }
+        if (cache.previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(cache.previous);
+        }
+    }
+
+    /**
+     * Gets the cache that is enabled on the current thread.
+     *
+     * @return the innermost enabled cache, or null if there is none
+     */
+    public static RenderingCache current() {
+        return CURRENT.get();
+    }
+
+    public boolean isRegistered(Object node) {
+        return roots.containsKey(node);
+    }
+
+    public String get(Class<?> visitorClass, Object node) {
+        Map<Object, String> texts = renderedTexts.get(visitorClass);
+        return texts == null ? null : texts.get(node);
+    }
+
+    public void put(Class<?> visitorClass, Object node, String text) {
+        renderedTexts.computeIfAbsent(visitorClass, c -> new IdentityHashMap<>()).put(node, text);
+    }
+
+}
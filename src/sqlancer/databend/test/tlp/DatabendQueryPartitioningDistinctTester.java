@@ -6,6 +6,7 @@ import java.util.List;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.databend.DatabendErrors;
 import sqlancer.databend.DatabendProvider.DatabendGlobalState;
 import sqlancer.databend.DatabendToStringVisitor;
@@ -26,7 +27,8 @@ public class DatabendQueryPartitioningDistinctTester extends DatabendQueryPartit
         select.setWhereClause(null);
         String originalQueryString = DatabendToStringVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
         if (Randomly.getBoolean()) {
             select.setDistinct(false);
         }
@@ -37,7 +39,7 @@ public class DatabendQueryPartitioningDistinctTester extends DatabendQueryPartit
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = DatabendToStringVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultisetNoDuplicates(firstQueryString,
                 secondQueryString, thirdQueryString, combinedString, true, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state, ComparatorHelper::canonicalizeResultValue);
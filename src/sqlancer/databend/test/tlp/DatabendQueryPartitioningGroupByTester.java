@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.databend.DatabendErrors;
 import sqlancer.databend.DatabendProvider.DatabendGlobalState;
 import sqlancer.databend.DatabendToStringVisitor;
@@ -27,7 +28,8 @@ public class DatabendQueryPartitioningGroupByTester extends DatabendQueryPartiti
         select.setWhereClause(null);
         String originalQueryString = DatabendToStringVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         select.setWhereClause(predicate);
         String firstQueryString = DatabendToStringVisitor.asString(select);
@@ -36,7 +38,7 @@ public class DatabendQueryPartitioningGroupByTester extends DatabendQueryPartiti
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = DatabendToStringVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultisetNoDuplicates(firstQueryString,
                 secondQueryString, thirdQueryString, combinedString, true, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state, ComparatorHelper::canonicalizeResultValue);
@@ -7,6 +7,7 @@ import java.util.List;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.databend.DatabendErrors;
 import sqlancer.databend.DatabendProvider.DatabendGlobalState;
 import sqlancer.databend.DatabendSchema;
@@ -39,7 +40,8 @@ public class DatabendQueryPartitioningHavingTester extends DatabendQueryPartitio
         select.setGroupByExpressions(groupByExpression);
         select.setHavingClause(null);
         String originalQueryString = DatabendToStringVisitor.asString(select);
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         select.setHavingClause(predicate);
         String firstQueryString = DatabendToStringVisitor.asString(select);
@@ -48,7 +50,7 @@ public class DatabendQueryPartitioningHavingTester extends DatabendQueryPartitio
         select.setHavingClause(isNullPredicate);
         String thirdQueryString = DatabendToStringVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultiset(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, !orderBy, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state, ComparatorHelper::canonicalizeResultValue);
@@ -5,6 +5,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Paths;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -142,7 +143,7 @@ public final class DataFusionUtil {
 
         // Caller is responsible for adding '\n' at the end of logContent
         public void appendToLog(DataFusionLogType logType, String logContent) {
-            FileWriter logFileWriter = null;
+            Writer logFileWriter = null;
 
             // Determine which log file to use based on the LogType
             String logLineHeader = "";
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.doris.DorisErrors;
 import sqlancer.doris.DorisProvider.DorisGlobalState;
 import sqlancer.doris.visitor.DorisToStringVisitor;
@@ -23,7 +24,8 @@ public class DorisQueryPartitioningDistinctTester extends DorisQueryPartitioning
         select.setDistinct(true);
         select.setWhereClause(null);
         String originalQueryString = DorisToStringVisitor.asString(select);
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         select.setWhereClause(predicate);
         String firstQueryString = DorisToStringVisitor.asString(select);
@@ -36,7 +38,7 @@ public class DorisQueryPartitioningDistinctTester extends DorisQueryPartitioning
         String unionString = "SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString
                 + " UNION ALL " + thirdQueryString + ") tmpTable";
         combinedString.add(unionString);
-        List<String> secondResultSet = ComparatorHelper.getResultSetFirstColumnAsString(unionString, errors, state);
+        ResultMultiset secondResultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(unionString, errors, state);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state, ComparatorHelper::canonicalizeResultValue);
     }
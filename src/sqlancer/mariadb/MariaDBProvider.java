@@ -2,9 +2,11 @@ package sqlancer.mariadb;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.google.auto.service.AutoService;
@@ -17,6 +19,8 @@ import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.common.DBMSCommon;
+import sqlancer.common.query.BatchResult;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.mariadb.MariaDBProvider.MariaDBGlobalState;
 import sqlancer.mariadb.gen.MariaDBIndexGenerator;
@@ -92,6 +96,8 @@ public class MariaDBProvider extends SQLProviderAdapter<MariaDBGlobalState, Mari
             nrRemaining[action.ordinal()] = nrPerformed;
             total += nrPerformed;
         }
+        int batchSize = globalState.getOptions().getStatementBatchSize();
+        List<Query<SQLConnection>> batch = new ArrayList<>();
         while (total != 0) {
             Action nextAction = null;
             int selection = globalState.getRandomly().getInteger(0, total);
@@ -148,17 +154,80 @@ public class MariaDBProvider extends SQLProviderAdapter<MariaDBGlobalState, Mari
                 continue;
             }
             try {
-                globalState.executeStatement(query);
+                if (batchSize > 1 && globalState.canBeBatched(query)) {
+                    batch.add(query);
+                    if (batch.size() == batchSize) {
+                        globalState.executeStatementBatch(batch);
+                        batch.clear();
+                    }
+                } else {
+                    if (!batch.isEmpty()) {
+                        globalState.executeStatementBatch(batch);
+                        batch.clear();
+                    }
+                    globalState.executeStatement(query);
+                }
             } catch (Throwable t) {
                 System.err.println(query.getQueryString());
                 throw t;
             }
             total--;
         }
+        if (!batch.isEmpty()) {
+            globalState.executeStatementBatch(batch);
+        }
     }
 
     public static class MariaDBGlobalState extends SQLGlobalState<MariaDBOptions, MariaDBSchema> {
 
+        // the value of the user variable that identifies the first statement of the next batch
+        private long nextBatchStatementId;
+
+        @Override
+        protected boolean supportsStatementBatches() {
+            return true;
+        }
+
+        // The driver pipelines the statements of a JDBC batch, so that the server executes all of them even after one
+        // of them failed, and the update counts of a failed batch cannot be attributed to its statements. Instead, the
+        // statements are executed as a single compound statement, which stops at its first failed statement. Before
+        // each statement, a user variable is set to a unique id of the statement, which identifies the failed one.
+        @Override
+        protected BatchResult executeBatch(List<Query<SQLConnection>> queries, boolean[] success)
+                throws SQLException {
+            List<SQLQueryAdapter> batch = new ArrayList<>(queries.size());
+            long firstStatementId = nextBatchStatementId;
+            StringBuilder sb = new StringBuilder("BEGIN NOT ATOMIC\n");
+            for (Query<SQLConnection> q : queries) {
+                batch.add((SQLQueryAdapter) q);
+                sb.append("SET @sqlancer_batch_statement = ").append(nextBatchStatementId++).append(";\n");
+                sb.append(q.getUnterminatedQueryString()).append(";\n");
+            }
+            sb.append("END");
+            // the update count of a compound statement is not that of each statement
+            int[] updateCounts = new int[batch.size()];
+            Arrays.fill(updateCounts, Statement.SUCCESS_NO_INFO);
+            try (Statement s = getConnection().createStatement()) {
+                try {
+                    s.execute(sb.toString());
+                } catch (SQLException e) {
+                    long failedStatementId = -1;
+                    try (ResultSet rs = s.executeQuery("SELECT @sqlancer_batch_statement")) {
+                        if (rs.next() && rs.getObject(1) != null) {
+                            failedStatementId = rs.getLong(1);
+                        }
+                    }
+                    if (failedStatementId < firstStatementId) {
+                        // the compound statement was not executed at all, so the statements are executed one by one
+                        return new BatchResult(0, null);
+                    }
+                    return SQLQueryAdapter.recordFailedBatch(batch, updateCounts,
+                            (int) (failedStatementId - firstStatementId), e, success);
+                }
+            }
+            return SQLQueryAdapter.recordBatch(batch, updateCounts, success);
+        }
+
         @Override
         protected MariaDBSchema readSchema() throws SQLException {
             return MariaDBSchema.fromConnection(getConnection(), getDatabaseName());
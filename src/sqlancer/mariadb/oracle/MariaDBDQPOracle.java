@@ -8,6 +8,7 @@ import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.mariadb.MariaDBErrors;
 import sqlancer.mariadb.MariaDBProvider.MariaDBGlobalState;
@@ -65,13 +66,14 @@ public class MariaDBDQPOracle implements TestOracle<MariaDBGlobalState> {
 
         // Get the result of the first query
         String originalQueryString = MariaDBVisitor.asString(select);
-        List<String> originalResult = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors,
+        ResultMultiset originalResult = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
                 state);
 
         List<SQLQueryAdapter> optimizationList = MariaDBSetGenerator.getAllOptimizer(state);
         for (SQLQueryAdapter optimization : optimizationList) {
             optimization.execute(state);
-            List<String> result = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+            ResultMultiset result = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                    state);
             try {
                 ComparatorHelper.assumeResultSetsAreEqual(originalResult, result, originalQueryString,
                         List.of(originalQueryString), state);
@@ -2,8 +2,10 @@
 package sqlancer.mysql;
 
 import java.sql.SQLException;
+import java.util.Locale;
 
 import sqlancer.SQLGlobalState;
+import sqlancer.common.query.Query;
 
 public class MySQLGlobalState extends SQLGlobalState<MySQLOptions, MySQLSchema> {
 
@@ -16,4 +18,9 @@ public class MySQLGlobalState extends SQLGlobalState<MySQLOptions, MySQLSchema>
         return getDbmsSpecificOptions().oracles.stream().anyMatch(o -> o == MySQLOracleFactory.PQS);
     }
 
+    @Override
+    protected boolean isSessionSetting(Query<?> q) {
+        return q.getQueryString().toUpperCase(Locale.ROOT).startsWith("SET SESSION ");
+    }
+
 }
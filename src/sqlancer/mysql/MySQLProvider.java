@@ -175,21 +175,11 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
     public SQLConnection createDatabase(MySQLGlobalState globalState) throws SQLException {
         String username = globalState.getOptions().getUserName();
         String password = globalState.getOptions().getPassword();
-        String host = globalState.getOptions().getHost();
-        int port = globalState.getOptions().getPort();
-        if (host == null) {
-            host = MySQLOptions.DEFAULT_HOST;
-        }
-        if (port == MainOptions.NO_SET_PORT) {
-            port = MySQLOptions.DEFAULT_PORT;
-        }
         String databaseName = globalState.getDatabaseName();
         globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
         globalState.getState().logStatement("CREATE DATABASE " + databaseName);
         globalState.getState().logStatement("USE " + databaseName);
-        String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
-                host, port);
-        Connection con = DriverManager.getConnection(url, username, password);
+        Connection con = DriverManager.getConnection(getURL(globalState), username, password);
         try (Statement s = con.createStatement()) {
             s.execute("DROP DATABASE IF EXISTS " + databaseName);
         }
@@ -202,6 +192,39 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
         return new SQLConnection(con);
     }
 
+    /**
+     * Opens another connection to the database that was created for the global state, without resetting it.
+     *
+     * @param globalState
+     *            the global state whose database should be opened
+     *
+     * @return a new connection to the database
+     *
+     * @throws SQLException
+     *             if the connection cannot be established
+     */
+    public SQLConnection openConnection(MySQLGlobalState globalState) throws SQLException {
+        Connection con = DriverManager.getConnection(getURL(globalState), globalState.getOptions().getUserName(),
+                globalState.getOptions().getPassword());
+        try (Statement s = con.createStatement()) {
+            s.execute("USE " + globalState.getDatabaseName());
+        }
+        return new SQLConnection(con);
+    }
+
+    private static String getURL(MySQLGlobalState globalState) {
+        String host = globalState.getOptions().getHost();
+        int port = globalState.getOptions().getPort();
+        if (host == null) {
+            host = MySQLOptions.DEFAULT_HOST;
+        }
+        if (port == MainOptions.NO_SET_PORT) {
+            port = MySQLOptions.DEFAULT_PORT;
+        }
+        return String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true", host,
+                port);
+    }
+
     @Override
     public String getDBMSName() {
         return "mysql";
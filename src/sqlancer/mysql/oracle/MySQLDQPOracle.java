@@ -6,11 +6,15 @@ import java.util.stream.Collectors;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.common.oracle.DifferentialQueryExecutor;
+import sqlancer.common.oracle.DifferentialQueryExecutor.Variant;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.mysql.MySQLErrors;
 import sqlancer.mysql.MySQLGlobalState;
+import sqlancer.mysql.MySQLProvider;
 import sqlancer.mysql.MySQLSchema.MySQLTables;
 import sqlancer.mysql.MySQLVisitor;
 import sqlancer.mysql.ast.MySQLColumnReference;
@@ -28,10 +32,13 @@ public class MySQLDQPOracle implements TestOracle<MySQLGlobalState> {
     private MySQLExpressionGenerator gen;
     private MySQLSelect select;
     private final ExpectedErrors errors = new ExpectedErrors();
+    private final DifferentialQueryExecutor executor;
 
     public MySQLDQPOracle(MySQLGlobalState globalState) {
         state = globalState;
         MySQLErrors.addExpressionErrors(errors);
+        executor = new DifferentialQueryExecutor(globalState, errors,
+                () -> ((MySQLProvider) globalState.getState().getDatabaseProvider()).openConnection(globalState));
     }
 
     @Override
@@ -68,24 +75,31 @@ public class MySQLDQPOracle implements TestOracle<MySQLGlobalState> {
 
         // Get the result of the first query
         String originalQueryString = MySQLVisitor.asString(select);
-        List<String> originalResult = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors,
+        ResultMultiset originalResult = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
                 state);
 
         // Check hints
+        List<Variant> variants = new ArrayList<>();
         List<MySQLText> hintList = MySQLHintGenerator.generateAllHints(select, tables.getTables());
         for (MySQLText hint : hintList) {
             select.setHint(hint);
-            String queryString = MySQLVisitor.asString(select);
-            List<String> result = ComparatorHelper.getResultSetFirstColumnAsString(queryString, errors, state);
-            ComparatorHelper.assumeResultSetsAreEqual(originalResult, result, originalQueryString, List.of(queryString),
-                    state);
+            variants.add(Variant.of(MySQLVisitor.asString(select)));
         }
 
-        // Check optimizer variables
+        // Check optimizer variables, each of which is reset after the query
         List<SQLQueryAdapter> optimizationList = MySQLSetGenerator.getAllOptimizer(state);
         for (SQLQueryAdapter optimization : optimizationList) {
-            optimization.execute(state);
-            List<String> result = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+            String scope = optimization.getQueryString().startsWith("SET GLOBAL") ? "GLOBAL" : "SESSION";
+            variants.add(Variant.withSetting(optimization.getQueryString(), originalQueryString,
+                    "SET " + scope + " optimizer_switch = 'default'"));
+        }
+
+        executor.execute(variants, (variant, result) -> {
+            if (variant.getSetting() == null) {
+                ComparatorHelper.assumeResultSetsAreEqual(originalResult, result, originalQueryString,
+                        List.of(variant.getQuery()), state);
+                return;
+            }
             try {
                 ComparatorHelper.assumeResultSetsAreEqual(originalResult, result, originalQueryString,
                         List.of(originalQueryString), state);
@@ -96,9 +110,9 @@ public class MySQLDQPOracle implements TestOracle<MySQLGlobalState> {
                                 + "Second query:\"%s\", whose cardinality is: %d",
                         originalResult.size(), result.size(), originalQueryString, originalResult.size(),
                         String.join(";", originalQueryString), result.size());
-                assertionMessage += System.lineSeparator() + "The setting: " + optimization.getQueryString();
+                assertionMessage += System.lineSeparator() + "The setting: " + variant.getSetting();
                 throw new AssertionError(assertionMessage);
             }
-        }
+        });
     }
 }
@@ -5,6 +5,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -27,6 +28,7 @@ import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
@@ -232,6 +234,48 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
 
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
+        String entryDatabaseName = initializeConnectionSettings(globalState);
+        Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+        globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
+
+        String dropCommand = "DROP DATABASE";
+        boolean forceDrop = Randomly.getBoolean();
+        if (forceDrop) {
+            dropCommand += " FORCE";
+        }
+        dropCommand += " IF EXISTS " + databaseName;
+
+        globalState.getState().logStatement(dropCommand + ";");
+        try (Statement s = con.createStatement()) {
+            s.execute(dropCommand);
+        } catch (SQLException e) {
+            // If force fails, fall back to regular drop
+            if (forceDrop) {
+                String fallbackDrop = "DROP DATABASE IF EXISTS " + databaseName;
+                globalState.getState().logStatement(fallbackDrop + ";");
+                try (Statement s = con.createStatement()) {
+                    s.execute(fallbackDrop);
+                }
+            } else {
+                throw e;
+            }
+        }
+
+        // Create database section
+        createDatabaseCommand = getCreateDatabaseCommand(globalState);
+        globalState.getState().logStatement(createDatabaseCommand + ";");
+        try (Statement s = con.createStatement()) {
+            s.execute(createDatabaseCommand);
+        }
+        con.close();
+        globalState.getState().logStatement(String.format("\\c %s;", databaseName));
+
+        con = DriverManager.getConnection("jdbc:" + testURL, username, password);
+        return new SQLConnection(con);
+    }
+
+    // reads the connection settings from the options and the URL, and returns the name of the entry database
+    private String initializeConnectionSettings(PostgresGlobalState globalState) {
         if (globalState.getDbmsSpecificOptions().getTestOracleFactory().stream()
                 .anyMatch((o) -> o == PostgresOracleFactory.PQS)) {
             generateOnlyKnown = true;
@@ -282,47 +326,11 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         } catch (URISyntaxException e) {
             throw new AssertionError(e);
         }
-        Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
-        globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
-
-        String dropCommand = "DROP DATABASE";
-        boolean forceDrop = Randomly.getBoolean();
-        if (forceDrop) {
-            dropCommand += " FORCE";
-        }
-        dropCommand += " IF EXISTS " + databaseName;
-
-        globalState.getState().logStatement(dropCommand + ";");
-        try (Statement s = con.createStatement()) {
-            s.execute(dropCommand);
-        } catch (SQLException e) {
-            // If force fails, fall back to regular drop
-            if (forceDrop) {
-                String fallbackDrop = "DROP DATABASE IF EXISTS " + databaseName;
-                globalState.getState().logStatement(fallbackDrop + ";");
-                try (Statement s = con.createStatement()) {
-                    s.execute(fallbackDrop);
-                }
-            } else {
-                throw e;
-            }
-        }
-
-        // Create database section
-        createDatabaseCommand = getCreateDatabaseCommand(globalState);
-        globalState.getState().logStatement(createDatabaseCommand + ";");
-        try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
-        }
-        con.close();
         int databaseIndex = entryURL.indexOf(entryDatabaseName);
         String preDatabaseName = entryURL.substring(0, databaseIndex);
         String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
         testURL = preDatabaseName + databaseName + postDatabaseName;
-        globalState.getState().logStatement(String.format("\\c %s;", databaseName));
-
-        con = DriverManager.getConnection("jdbc:" + testURL, username, password);
-        return new SQLConnection(con);
+        return entryDatabaseName;
     }
 
     protected void readFunctions(PostgresGlobalState globalState) throws SQLException {
@@ -360,6 +368,99 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         globalState.executeStatement(new SQLQueryAdapter("SET SESSION statement_timeout = 5000;\n"));
     }
 
+    @Override
+    public boolean supportsTemplates() {
+        return true;
+    }
+
+    @Override
+    public SQLConnection createTemplate(PostgresGlobalState globalState) throws Exception {
+        try (Statement s = globalState.getConnection().createStatement();
+                ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM pg_class WHERE relpersistence = 't'")) {
+            if (rs.next() && rs.getInt(1) != 0) {
+                // temporary tables belong to the session and are not copied
+                throw new SQLException("cannot create a template of a database with temporary tables");
+            }
+        }
+        // CREATE DATABASE ... TEMPLATE requires that no other session is connected to the template
+        globalState.getConnection().close();
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + getTemplateName());
+            s.execute("CREATE DATABASE " + getTemplateName() + " TEMPLATE " + databaseName);
+        } finally {
+            globalState.setConnection(connectToTestDatabase(globalState.getState().getStatements()));
+        }
+        return globalState.getConnection();
+    }
+
+    @Override
+    public SQLConnection createDatabaseFromTemplate(PostgresGlobalState globalState) throws Exception {
+        initializeConnectionSettings(globalState);
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            s.execute("CREATE DATABASE " + databaseName + " TEMPLATE " + getTemplateName());
+        }
+        return connectToTestDatabase(globalState.getState().getStatements());
+    }
+
+    @Override
+    public void dropTemplate(PostgresGlobalState globalState) throws Exception {
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + getTemplateName());
+        }
+    }
+
+    @Override
+    public void dropDatabase(PostgresGlobalState globalState) throws Exception {
+        if (entryURL == null) {
+            return;
+        }
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + globalState.getDatabaseName());
+        }
+    }
+
+    @Override
+    protected void mutateTemplateCopy(PostgresGlobalState globalState) throws Exception {
+        readFunctions(globalState);
+        // only the statements of a few randomly selected actions are executed
+        StatementExecutor<PostgresGlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
+                (g, a) -> Randomly.getBooleanWithRatherLowProbability() ? mapActions(g, a) : 0, (q) -> {
+                    if (globalState.getSchema().getDatabaseTables().isEmpty()) {
+                        throw new IgnoreMeException();
+                    }
+                });
+        se.executeStatements();
+        globalState.executeStatement(new SQLQueryAdapter("COMMIT", true));
+    }
+
+    private String getTemplateName() {
+        return databaseName + "_template";
+    }
+
+    // connects to the test database and restores the session settings of the given statements
+    private SQLConnection connectToTestDatabase(List<Query<?>> executedStatements) throws SQLException {
+        Connection con = DriverManager.getConnection("jdbc:" + testURL, username, password);
+        try (Statement s = con.createStatement()) {
+            for (Query<?> q : executedStatements) {
+                String query = q.getQueryString();
+                if (query.startsWith("SET ") && !query.startsWith("SET CONSTRAINTS") || query.startsWith("RESET")
+                        || query.startsWith("DISCARD")) {
+                    try {
+                        s.execute(query);
+                    } catch (SQLException ignored) {
+                        // the setting also failed when the statement was executed originally
+                    }
+                }
+            }
+        }
+        return new SQLConnection(con);
+    }
+
     private String getCreateDatabaseCommand(PostgresGlobalState state) {
         StringBuilder sb = new StringBuilder();
         sb.append("CREATE DATABASE " + databaseName + " ");
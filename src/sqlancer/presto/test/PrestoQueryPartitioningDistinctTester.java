@@ -6,6 +6,7 @@ import java.util.List;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.presto.PrestoErrors;
 import sqlancer.presto.PrestoGlobalState;
 import sqlancer.presto.PrestoToStringVisitor;
@@ -24,7 +25,8 @@ public class PrestoQueryPartitioningDistinctTester extends PrestoQueryPartitioni
         select.setWhereClause(null);
         String originalQueryString = PrestoToStringVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
         if (Randomly.getBoolean()) {
             select.setDistinct(false);
         }
@@ -35,7 +37,7 @@ public class PrestoQueryPartitioningDistinctTester extends PrestoQueryPartitioni
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = PrestoToStringVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultisetNoDuplicates(firstQueryString,
                 secondQueryString, thirdQueryString, combinedString, true, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state, PrestoQueryPartitioningBase::canonicalizeResultValue);
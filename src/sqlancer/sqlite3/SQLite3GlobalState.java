@@ -1,15 +1,62 @@
 package sqlancer.sqlite3;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.sqlite3.schema.SQLite3PivotRowSampler;
 import sqlancer.sqlite3.schema.SQLite3Schema;
 
 public class SQLite3GlobalState extends SQLGlobalState<SQLite3Options, SQLite3Schema> {
 
+    private static final Pattern FAILED_BATCH_ENTRY = Pattern.compile("^batch entry (\\d+): ");
+
+    private SQLite3Schema lastReadSchema;
+    private final SQLite3PivotRowSampler pivotRowSampler = new SQLite3PivotRowSampler(this);
+
+    @Override
+    public void setConnection(SQLConnection con) {
+        super.setConnection(con);
+        // tables of another database cannot be reused
+        lastReadSchema = null;
+    }
+
     @Override
     protected SQLite3Schema readSchema() throws SQLException {
-        return SQLite3Schema.fromConnection(this);
+        SQLite3Schema schema = SQLite3Schema.fromConnection(this, lastReadSchema);
+        if (getDbmsSpecificOptions().verifyIncrementalSchema) {
+            SQLite3Schema expectedSchema = SQLite3Schema.fromConnection(this);
+            if (!schema.toString().equals(expectedSchema.toString())) {
+                throw new AssertionError(
+                        "incrementally updated schema:\n" + schema + "\ndiffers from catalog:\n" + expectedSchema);
+            }
+        }
+        lastReadSchema = schema;
+        return schema;
+    }
+
+    public SQLite3PivotRowSampler getPivotRowSampler() {
+        return pivotRowSampler;
+    }
+
+    @Override
+    protected boolean supportsStatementBatches() {
+        return true;
+    }
+
+    // the driver stops at the failed statement, but reports an update count of 0 for it and all statements after it
+    @Override
+    protected int getFailedBatchStatement(BatchUpdateException e, int nrStatements) {
+        Matcher matcher = FAILED_BATCH_ENTRY.matcher(String.valueOf(e.getMessage()));
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    @Override
+    protected boolean canTrackRowCounts() {
+        return lastReadSchema != null && !lastReadSchema.hasIndirectRowChanges();
     }
 
 }
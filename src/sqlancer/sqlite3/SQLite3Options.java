@@ -2,8 +2,11 @@ package sqlancer.sqlite3;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
+import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
 import com.beust.jcommander.Parameters;
 
 import sqlancer.DBMSSpecificOptions;
@@ -68,6 +71,30 @@ public class SQLite3Options implements DBMSSpecificOptions<SQLite3OracleFactory>
             "--delete-existing-databases" }, description = "Delete a database file if it already exists", arity = 1)
     public boolean deleteIfExists = true;
 
+    public enum SQLite3Storage {
+        FILE, MEMORY, SHARED_MEMORY
+    }
+
+    public static class SQLite3StorageConverter implements IStringConverter<SQLite3Storage> {
+
+        @Override
+        public SQLite3Storage convert(String value) {
+            try {
+                return SQLite3Storage.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new ParameterException("Invalid storage " + value + ", expected file, memory, or shared-memory");
+            }
+        }
+    }
+
+    @Parameter(names = {
+            "--storage" }, description = "Where databases are stored: file creates a database file in --database-directory, memory a private in-memory database for each connection, and shared-memory a named in-memory database that further connections can open", converter = SQLite3StorageConverter.class)
+    public SQLite3Storage storage = SQLite3Storage.FILE;
+
+    @Parameter(names = {
+            "--database-directory" }, description = "The directory in which database files are created, for example, a tmpfs mount such as /dev/shm/databases")
+    public String databaseDirectory = "databases";
+
     @Parameter(names = {
             "--generate-new-database" }, description = "Specifies whether new databases should be generated", arity = 1)
     public boolean generateDatabase = true;
@@ -79,6 +106,10 @@ public class SQLite3Options implements DBMSSpecificOptions<SQLite3OracleFactory>
     @Parameter(names = { "--max-num-indexes" }, description = "The maximum number of indexes that can be created")
     public int maxNumIndexes = 20;
 
+    @Parameter(names = {
+            "--verify-incremental-schema" }, description = "Check that the schema, which only re-reads tables that changed, matches the schema read from scratch", arity = 1)
+    public boolean verifyIncrementalSchema;
+
     public enum CODDTestModel {
         RANDOM, EXPRESSION, SUBQUERY;
 
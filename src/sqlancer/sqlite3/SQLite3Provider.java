@@ -2,11 +2,16 @@ package sqlancer.sqlite3;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
@@ -20,9 +25,11 @@ import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
+import sqlancer.sqlite3.SQLite3Options.SQLite3Storage;
 import sqlancer.sqlite3.gen.SQLite3AnalyzeGenerator;
 import sqlancer.sqlite3.gen.SQLite3CreateVirtualRtreeTabelGenerator;
 import sqlancer.sqlite3.gen.SQLite3ExplainGenerator;
@@ -55,6 +62,9 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
     private static final List<String> DEFAULT_PRAGMAS = Arrays.asList("PRAGMA cache_size = 50000;",
             "PRAGMA temp_store=MEMORY;", "PRAGMA synchronous=off;");
 
+    // static, since each database is generated by a new provider instance
+    private static final AtomicLong NR_SHARED_MEMORY_DATABASES = new AtomicLong();
+
     public SQLite3Provider() {
         super(SQLite3GlobalState.class, SQLite3Options.class);
     }
@@ -205,21 +215,34 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
                         "CREATE VIRTUAL TABLE IF NOT EXISTS stat USING dbstat(main)");
                 globalState.executeStatement(tableQuery);
             }
-            StatementExecutor<SQLite3GlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
-                    SQLite3Provider::mapActions, (q) -> {
-                        if (q.couldAffectSchema() && globalState.getSchema().getDatabaseTables().isEmpty()) {
-                            throw new IgnoreMeException();
-                        }
-                    });
-            se.executeStatements();
+            executeStatements(globalState, SQLite3Provider::mapActions);
+        }
+    }
 
-            SQLQueryAdapter query = SQLite3TransactionGenerator.generateCommit(globalState);
-            globalState.executeStatement(query);
+    @Override
+    protected void mutateTemplateCopy(SQLite3GlobalState globalState) throws Exception {
+        globalState.setRandomly(new Randomly(SQLite3SpecialStringGenerator::generate));
+        // only the statements of a few randomly selected actions are executed
+        executeStatements(globalState,
+                (g, a) -> Randomly.getBooleanWithRatherLowProbability() ? mapActions(g, a) : 0);
+    }
 
-            // also do an abort for DEFERRABLE INITIALLY DEFERRED
-            query = SQLite3TransactionGenerator.generateRollbackTransaction(globalState);
-            globalState.executeStatement(query);
-        }
+    private static void executeStatements(SQLite3GlobalState globalState,
+            StatementExecutor.ActionMapper<SQLite3GlobalState, Action> mapping) throws Exception {
+        StatementExecutor<SQLite3GlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
+                mapping, (q) -> {
+                    if (q.couldAffectSchema() && globalState.getSchema().getDatabaseTables().isEmpty()) {
+                        throw new IgnoreMeException();
+                    }
+                });
+        se.executeStatements();
+
+        SQLQueryAdapter query = SQLite3TransactionGenerator.generateCommit(globalState);
+        globalState.executeStatement(query);
+
+        // also do an abort for DEFERRABLE INITIALLY DEFERRED
+        query = SQLite3TransactionGenerator.generateRollbackTransaction(globalState);
+        globalState.executeStatement(query);
     }
 
     private void checkTablesForGeneratedColumnLoops(SQLite3GlobalState globalState) throws Exception {
@@ -285,16 +308,139 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
 
     @Override
     public SQLConnection createDatabase(SQLite3GlobalState globalState) throws SQLException {
-        File dir = new File("." + File.separator + "databases");
+        switch (globalState.getDbmsSpecificOptions().storage) {
+        case MEMORY:
+            return new SQLConnection(DriverManager.getConnection("jdbc:sqlite::memory:"));
+        case SHARED_MEMORY:
+            // a unique name ensures that the database is empty, even if connections to a previous one are still open.
+            // The database is dropped when its last connection is closed.
+            return new SQLConnection(DriverManager.getConnection(String.format(
+                    "jdbc:sqlite:file:%s-%d?mode=memory&cache=shared", globalState.getDatabaseName(),
+                    NR_SHARED_MEMORY_DATABASES.incrementAndGet())));
+        case FILE:
+            File dataBase = getDatabaseFile(globalState, ".db");
+            if (dataBase.exists() && globalState.getDbmsSpecificOptions().deleteIfExists) {
+                dataBase.delete();
+            }
+            return new SQLConnection(DriverManager.getConnection("jdbc:sqlite:" + dataBase.getAbsolutePath()));
+        default:
+            throw new AssertionError(globalState.getDbmsSpecificOptions().storage);
+        }
+    }
+
+    private static File getDatabaseFile(SQLite3GlobalState globalState, String suffix) {
+        File dir = new File(globalState.getDbmsSpecificOptions().databaseDirectory);
         if (!dir.exists()) {
-            dir.mkdir();
+            dir.mkdirs();
+        }
+        return new File(dir, globalState.getDatabaseName() + suffix);
+    }
+
+    @Override
+    public boolean supportsCheckpoints() {
+        return true;
+    }
+
+    @Override
+    public void createCheckpoint(SQLite3GlobalState globalState) throws Exception {
+        saveDatabase(globalState, "-checkpoint.db");
+    }
+
+    @Override
+    public SQLConnection restoreCheckpoint(SQLite3GlobalState globalState,
+            List<Query<SQLConnection>> checkpointedStatements) throws Exception {
+        return restoreDatabase(globalState, "-checkpoint.db", checkpointedStatements);
+    }
+
+    @Override
+    public boolean supportsTemplates() {
+        return true;
+    }
+
+    @Override
+    public SQLConnection createTemplate(SQLite3GlobalState globalState) throws Exception {
+        saveDatabase(globalState, "-template.db");
+        return globalState.getConnection();
+    }
+
+    @Override
+    public SQLConnection createDatabaseFromTemplate(SQLite3GlobalState globalState) throws Exception {
+        return restoreDatabase(globalState, "-template.db", globalState.getState().getStatements());
+    }
+
+    @Override
+    public void dropTemplate(SQLite3GlobalState globalState) throws Exception {
+        Files.deleteIfExists(getDatabaseFile(globalState, "-template.db").toPath());
+    }
+
+    @Override
+    public void dropDatabase(SQLite3GlobalState globalState) throws Exception {
+        switch (globalState.getDbmsSpecificOptions().storage) {
+        case MEMORY:
+        case SHARED_MEMORY:
+            // an in-memory database is dropped when its last connection is closed
+            break;
+        case FILE:
+            for (String suffix : Arrays.asList(".db", ".db-journal", ".db-wal", ".db-shm")) {
+                Files.deleteIfExists(getDatabaseFile(globalState, suffix).toPath());
+            }
+            break;
+        default:
+            throw new AssertionError(globalState.getDbmsSpecificOptions().storage);
+        }
+    }
+
+    private static void saveDatabase(SQLite3GlobalState globalState, String suffix) throws Exception {
+        try (Statement s = globalState.getConnection().createStatement()) {
+            try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM sqlite_temp_master")) {
+                if (rs.next() && rs.getInt(1) != 0) {
+                    // the backup only copies the main database
+                    throw new SQLException("cannot save a database with temporary tables");
+                }
+            }
+            File copy = getDatabaseFile(globalState, suffix);
+            Files.deleteIfExists(copy.toPath());
+            // unlike VACUUM INTO, the driver's backup API copies the pages as they are, so that the implicit rowids and
+            // the free pages of the database are preserved
+            s.execute("backup to '" + copy.getAbsolutePath().replace("'", "''") + "'");
+        }
+    }
+
+    private SQLConnection restoreDatabase(SQLite3GlobalState globalState, String suffix,
+            List<? extends Query<?>> executedStatements) throws Exception {
+        File copy = getDatabaseFile(globalState, suffix);
+        SQLConnection con;
+        if (globalState.getDbmsSpecificOptions().storage == SQLite3Storage.FILE) {
+            File dataBase = getDatabaseFile(globalState, ".db");
+            for (String journalSuffix : Arrays.asList(".db-wal", ".db-shm", ".db-journal")) {
+                Files.deleteIfExists(getDatabaseFile(globalState, journalSuffix).toPath());
+            }
+            Files.copy(copy.toPath(), dataBase.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            con = new SQLConnection(DriverManager.getConnection("jdbc:sqlite:" + dataBase.getAbsolutePath()));
+        } else {
+            con = createDatabase(globalState);
+            try (Statement s = con.createStatement()) {
+                // restores the in-memory database from the file using the driver's backup API
+                s.execute("restore from '" + copy.getAbsolutePath().replace("'", "''") + "'");
+            }
         }
-        File dataBase = new File(dir, globalState.getDatabaseName() + ".db");
-        if (dataBase.exists() && ((SQLite3GlobalState) globalState).getDbmsSpecificOptions().deleteIfExists) {
-            dataBase.delete();
+        // most PRAGMAs apply to the connection rather than to the database file
+        try (Statement s = con.createStatement()) {
+            for (Query<?> q : executedStatements) {
+                if (q.getQueryString().startsWith("PRAGMA")) {
+                    try {
+                        s.execute(q.getQueryString());
+                    } catch (SQLException e) {
+                        // a PRAGMA that fails with an expected error also failed when it was executed originally
+                        if (e.getMessage() == null || !q.getExpectedErrors().errorIsExpected(e.getMessage())) {
+                            con.close();
+                            throw e;
+                        }
+                    }
+                }
+            }
         }
-        String url = "jdbc:sqlite:" + dataBase.getAbsolutePath();
-        return new SQLConnection(DriverManager.getConnection(url));
+        return con;
     }
 
     @Override
@@ -16,7 +16,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
-import sqlancer.Main;
+import sqlancer.Metrics;
 import sqlancer.Randomly;
 import sqlancer.Reproducer;
 import sqlancer.common.oracle.CODDTestBase;
@@ -723,10 +723,10 @@ public class SQLite3CODDTestOracle extends CODDTestBase<SQLite3GlobalState> impl
                         throw new IgnoreMeException();
                     }
                 }
-                Main.nrSuccessfulActions.addAndGet(1);
+                Metrics.incrementSuccessfulStatements();
                 rs.close();
             } catch (SQLException e) {
-                Main.nrUnsuccessfulActions.addAndGet(1);
+                Metrics.incrementUnsuccessfulStatements();
                 if (errors.errorIsExpected(e.getMessage())) {
                     throw new IgnoreMeException();
                 } else {
@@ -803,9 +803,9 @@ public class SQLite3CODDTestOracle extends CODDTestBase<SQLite3GlobalState> impl
             stmt = this.con.createStatement();
             try {
                 stmt.execute(crateTableString);
-                Main.nrSuccessfulActions.addAndGet(1);
+                Metrics.incrementSuccessfulStatements();
             } catch (SQLException e) {
-                Main.nrUnsuccessfulActions.addAndGet(1);
+                Metrics.incrementUnsuccessfulStatements();
                 throw new IgnoreMeException();
             }
         } finally {
@@ -824,10 +824,10 @@ public class SQLite3CODDTestOracle extends CODDTestBase<SQLite3GlobalState> impl
         try {
             stmt = this.con.createStatement();
             try {
-                Main.nrSuccessfulActions.addAndGet(1);
+                Metrics.incrementSuccessfulStatements();
                 stmt.execute(insertValueString);
             } catch (SQLException e) {
-                Main.nrUnsuccessfulActions.addAndGet(1);
+                Metrics.incrementUnsuccessfulStatements();
                 throw new IgnoreMeException();
             }
         } finally {
@@ -860,9 +860,9 @@ public class SQLite3CODDTestOracle extends CODDTestBase<SQLite3GlobalState> impl
             stmt = this.con.createStatement();
             try {
                 stmt.execute(dropString);
-                Main.nrSuccessfulActions.addAndGet(1);
+                Metrics.incrementSuccessfulStatements();
             } catch (SQLException e) {
-                Main.nrUnsuccessfulActions.addAndGet(1);
+                Metrics.incrementUnsuccessfulStatements();
                 throw new IgnoreMeException();
             }
         } finally {
@@ -65,7 +65,7 @@ public class SQLite3PivotedQuerySynthesisOracle
         SQLite3Tables randomFromTables = globalState.getSchema().getRandomTableNonEmptyTables();
         List<SQLite3Table> tables = randomFromTables.getTables();
 
-        pivotRow = randomFromTables.getRandomRowValue(globalState.getConnection());
+        pivotRow = globalState.getPivotRowSampler().getRandomRowValue(randomFromTables);
         SQLite3Select selectStatement = new SQLite3Select();
         selectStatement.setSelectType(Randomly.fromOptions(SQLite3Select.SelectType.values()));
         List<SQLite3Column> columns = randomFromTables.getColumns();
@@ -0,0 +1,142 @@
+package sqlancer.sqlite3.schema;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.Randomly;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.ast.SQLite3Constant;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3RowValue;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
+
+/**
+ * Selects the pivot rows of PQS from the rows of the tables, which are read once and kept in memory until the data
+ * version of the global state changes, that is, until a statement could have changed them. The rows of each table are
+ * stored by column, and a pivot row is selected by picking a random row of each table, which selects each combination
+ * of rows with the same probability as picking a random row of the tables' cross product on the database. The pivot
+ * rows of tables with more than {@value #MAX_CACHED_ROWS} rows, or whose rows cannot be read, are still selected by the
+ * database.
+ */
+public final class SQLite3PivotRowSampler {
+
+    private static final int MAX_CACHED_ROWS = 10_000;
+
+    private static final class TableRows {
+        // the values of each column, where null denotes a value that cannot be part of a pivot row
+        private final SQLite3Constant[][] values;
+        private final int nrRows;
+
+        TableRows(SQLite3Constant[][] values, int nrRows) {
+            this.values = values;
+            this.nrRows = nrRows;
+        }
+    }
+
+    private static final TableRows NOT_CACHED = new TableRows(new SQLite3Constant[0][], 0);
+
+    private final SQLite3GlobalState globalState;
+    private final Map<SQLite3Table, TableRows> rowsOfTables = new IdentityHashMap<>();
+    private long dataVersion;
+
+    public SQLite3PivotRowSampler(SQLite3GlobalState globalState) {
+        this.globalState = globalState;
+        this.dataVersion = globalState.getDataVersion();
+    }
+
+    /**
+     * Selects a random row of the cross product of the given tables.
+     *
+     * @param tables
+     *            the tables
+     *
+     * @return the values of the columns of the tables in the selected row
+     *
+     * @throws SQLException
+     *             if the row is selected by the database and reading it fails.
+     */
+    public SQLite3RowValue getRandomRowValue(SQLite3Tables tables) throws SQLException {
+        if (dataVersion != globalState.getDataVersion()) {
+            rowsOfTables.clear();
+            dataVersion = globalState.getDataVersion();
+        }
+        TableRows[] rows = new TableRows[tables.getTables().size()];
+        for (int i = 0; i < rows.length; i++) {
+            SQLite3Table table = tables.getTables().get(i);
+            rows[i] = rowsOfTables.get(table);
+            if (rows[i] == null) {
+                rows[i] = readRows(table);
+                rowsOfTables.put(table, rows[i]);
+            }
+            if (rows[i] == NOT_CACHED) {
+                return tables.getRandomRowValue(globalState.getConnection());
+            }
+            if (rows[i].nrRows == 0) {
+                throw new IgnoreMeException();
+            }
+        }
+        Map<SQLite3Column, SQLite3Constant> values = new HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            List<SQLite3Column> columns = tables.getTables().get(i).getColumns();
+            int row = (int) Randomly.getNotCachedInteger(0, rows[i].nrRows);
+            for (int j = 0; j < columns.size(); j++) {
+                SQLite3Constant value = rows[i].values[j][row];
+                if (value == null) {
+                    throw new IgnoreMeException();
+                }
+                values.put(columns.get(j), value);
+            }
+        }
+        return new SQLite3RowValue(tables, values);
+    }
+
+    private TableRows readRows(SQLite3Table table) {
+        List<SQLite3Column> columns = table.getColumns();
+        SQLite3Tables tables = new SQLite3Tables(List.of(table));
+        String query = String.format("SELECT %s, %s FROM %s LIMIT %d",
+                tables.columnNamesAsString(c -> table.getName() + "." + c.getName()),
+                tables.columnNamesAsString(c -> "typeof(" + table.getName() + "." + c.getName() + ")"),
+                table.getName(), MAX_CACHED_ROWS + 1);
+        int capacity = 16;
+        SQLite3Constant[][] values = new SQLite3Constant[columns.size()][capacity];
+        int nrRows = 0;
+        try (Statement s = globalState.getConnection().createStatement();
+                ResultSet rs = s.executeQuery(query)) {
+            while (rs.next()) {
+                if (nrRows == MAX_CACHED_ROWS) {
+                    return NOT_CACHED;
+                }
+                if (nrRows == capacity) {
+                    capacity *= 2;
+                    for (int j = 0; j < columns.size(); j++) {
+                        values[j] = Arrays.copyOf(values[j], capacity);
+                    }
+                }
+                for (int j = 0; j < columns.size(); j++) {
+                    values[j][nrRows] = readValue(rs, j + 1, rs.getString(j + 1 + columns.size()));
+                }
+                nrRows++;
+            }
+        } catch (SQLException e) {
+            return NOT_CACHED;
+        }
+        return new TableRows(values, nrRows);
+    }
+
+    private static SQLite3Constant readValue(ResultSet rs, int columnIndex, String typeString) throws SQLException {
+        try {
+            return SQLite3Schema.getConstant(rs, columnIndex, SQLite3Schema.getColumnType(typeString));
+        } catch (IgnoreMeException e) {
+            return null;
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,6 +35,9 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
     public static final List<String> ROWID_STRINGS = Collections
             .unmodifiableList(Arrays.asList("rowid", "_rowid_", "oid"));
     private final List<String> indexNames;
+    // the category and SQL of each table in the catalog, which determine its columns
+    private final Map<String, String> catalogEntries;
+    private final boolean hasIndirectRowChanges;
 
     public List<String> getIndexNames() {
         return indexNames;
@@ -243,6 +247,12 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
             return isReadOnly;
         }
 
+        @Override
+        public boolean canTrackCount() {
+            // virtual tables handle special commands through INSERT statements
+            return super.canTrackCount() && !isVirtual;
+        }
+
     }
 
     public static class SQLite3RowValue extends AbstractRowValue<SQLite3Tables, SQLite3Column, SQLite3Constant> {
@@ -254,8 +264,27 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
     }
 
     public SQLite3Schema(List<SQLite3Table> databaseTables, List<String> indexNames) {
+        this(databaseTables, indexNames, Collections.emptyMap(), true);
+    }
+
+    private SQLite3Schema(List<SQLite3Table> databaseTables, List<String> indexNames,
+            Map<String, String> catalogEntries, boolean hasIndirectRowChanges) {
         super(databaseTables);
         this.indexNames = indexNames;
+        this.catalogEntries = catalogEntries;
+        this.hasIndirectRowChanges = hasIndirectRowChanges;
+    }
+
+    /**
+     * Whether statements could change rows that are not reflected by their update count, that is, rows of tables other
+     * than their target table, rows deleted by a REPLACE conflict resolution, or rows whose changes are rolled back by
+     * a ROLLBACK conflict resolution of a failed statement.
+     *
+     * @return true if the database contains a trigger, a foreign key constraint, or an ON CONFLICT REPLACE or ON
+     *         CONFLICT ROLLBACK clause
+     */
+    public boolean hasIndirectRowChanges() {
+        return hasIndirectRowChanges;
     }
 
     @Override
@@ -269,8 +298,30 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
     }
 
     public static SQLite3Schema fromConnection(SQLite3GlobalState globalState) throws SQLException {
+        return fromConnection(globalState, null);
+    }
+
+    /**
+     * Reads the schema from the catalog. Tables whose catalog entry did not change since the previous schema was read
+     * are reused, which avoids querying their columns. Views are only reused if no entry changed, since their columns
+     * depend on other tables.
+     *
+     * @param globalState
+     *            the state whose connection is used
+     * @param previousSchema
+     *            the schema read before, or null to read all tables
+     *
+     * @return the current schema
+     *
+     * @throws SQLException
+     *             if reading the schema fails
+     */
+    public static SQLite3Schema fromConnection(SQLite3GlobalState globalState, SQLite3Schema previousSchema)
+            throws SQLException {
         List<SQLite3Table> databaseTables = new ArrayList<>();
         List<String> indexNames = new ArrayList<>();
+        Map<String, String> catalogEntries = new LinkedHashMap<>();
+        boolean hasIndirectRowChanges = true;
         SQLConnection con = globalState.getConnection();
 
         try (Statement s = con.createStatement()) {
@@ -279,8 +330,7 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
                 while (rs.next()) {
                     String tableName = rs.getString("name");
                     String tableType = rs.getString("category");
-                    boolean isReadOnly;
-                    if (databaseTables.stream().anyMatch(t -> t.getName().contentEquals(tableName))) {
+                    if (catalogEntries.containsKey(tableName)) {
                         continue;
                     }
                     String sqlString = rs.getString("sql") == null ? "" : rs.getString("sql").toLowerCase();
@@ -291,7 +341,28 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
                             || tableName.endsWith("_stat") || tableName.endsWith("_segments")
                             || tableName.contains("_")) {
                         continue; // TODO
-                    } else if (sqlString.contains("using dbstat")) {
+                    }
+                    catalogEntries.put(tableName, tableType + "\n" + sqlString);
+                }
+            } catch (SQLException e) {
+                // ignore
+            }
+            boolean catalogChanged = previousSchema == null || !previousSchema.catalogEntries.equals(catalogEntries);
+            try {
+                for (Map.Entry<String, String> entry : catalogEntries.entrySet()) {
+                    String tableName = entry.getKey();
+                    String tableType = entry.getValue().substring(0, entry.getValue().indexOf('\n'));
+                    String sqlString = entry.getValue().substring(tableType.length() + 1);
+                    boolean isView = tableType.contentEquals("view");
+                    SQLite3Table previousTable = previousSchema == null ? null
+                            : previousSchema.getDatabaseTable(tableName);
+                    if (previousTable != null && entry.getValue().equals(previousSchema.catalogEntries.get(tableName))
+                            && !(isView && catalogChanged)) {
+                        databaseTables.add(previousTable);
+                        continue;
+                    }
+                    boolean isReadOnly;
+                    if (sqlString.contains("using dbstat")) {
                         isReadOnly = true;
                     } else if (sqlString.contains("content=''")) {
                         isReadOnly = true;
@@ -299,7 +370,6 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
                         isReadOnly = false;
                     }
                     boolean withoutRowid = sqlString.contains("without rowid");
-                    boolean isView = tableType.contentEquals("view");
                     boolean isVirtual = sqlString.contains("virtual");
                     boolean isDbStatsTable = sqlString.contains("using dbstat");
                     List<SQLite3Column> databaseColumns = getTableColumns(con, tableName, sqlString, isView,
@@ -335,9 +405,16 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
                     throw new AssertionError(e);
                 }
             }
+            try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM (SELECT type, sql FROM sqlite_master UNION ALL "
+                    + "SELECT type, sql FROM sqlite_temp_master) WHERE type = 'trigger' OR sql LIKE '%references%' "
+                    + "OR sql LIKE '%on conflict replace%' OR sql LIKE '%on conflict rollback%'")) {
+                hasIndirectRowChanges = !rs.next() || rs.getInt(1) != 0;
+            } catch (SQLException e) {
+                // ignore
+            }
         }
 
-        return new SQLite3Schema(databaseTables, indexNames);
+        return new SQLite3Schema(databaseTables, indexNames, catalogEntries, hasIndirectRowChanges);
     }
 
     // https://www.sqlite.org/rowidtable.html
@@ -6,6 +6,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
@@ -20,6 +21,7 @@ import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
@@ -79,6 +81,13 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
             return TiDBSchema.fromConnection(getConnection(), getDatabaseName());
         }
 
+        @Override
+        protected boolean isSessionSetting(Query<?> q) {
+            // set @@name sets the session variable, unlike set @@global.name
+            String query = q.getQueryString().toLowerCase(Locale.ROOT);
+            return query.startsWith("set @@") && !query.startsWith("set @@global.");
+        }
+
     }
 
     private static int mapActions(TiDBGlobalState globalState, Action a) {
@@ -172,17 +181,8 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
 
     @Override
     public SQLConnection createDatabase(TiDBGlobalState globalState) throws SQLException {
-        String host = globalState.getOptions().getHost();
-        int port = globalState.getOptions().getPort();
-        if (host == null) {
-            host = TiDBOptions.DEFAULT_HOST;
-        }
-        if (port == MainOptions.NO_SET_PORT) {
-            port = TiDBOptions.DEFAULT_PORT;
-        }
-
         String databaseName = globalState.getDatabaseName();
-        String url = String.format("jdbc:mysql://%s:%d/", host, port);
+        String url = getURL(globalState);
         Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
                 globalState.getOptions().getPassword());
         globalState.getState().logStatement("USE test");
@@ -205,6 +205,34 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
         return new SQLConnection(con);
     }
 
+    /**
+     * Opens another connection to the database that was created for the global state, without resetting it.
+     *
+     * @param globalState
+     *            the global state whose database should be opened
+     *
+     * @return a new connection to the database
+     *
+     * @throws SQLException
+     *             if the connection cannot be established
+     */
+    public SQLConnection openConnection(TiDBGlobalState globalState) throws SQLException {
+        return new SQLConnection(DriverManager.getConnection(getURL(globalState) + globalState.getDatabaseName(),
+                globalState.getOptions().getUserName(), globalState.getOptions().getPassword()));
+    }
+
+    private static String getURL(TiDBGlobalState globalState) {
+        String host = globalState.getOptions().getHost();
+        int port = globalState.getOptions().getPort();
+        if (host == null) {
+            host = TiDBOptions.DEFAULT_HOST;
+        }
+        if (port == MainOptions.NO_SET_PORT) {
+            port = TiDBOptions.DEFAULT_PORT;
+        }
+        return String.format("jdbc:mysql://%s:%d/", host, port);
+    }
+
     @Override
     public String getDBMSName() {
         return "tidb";
@@ -7,10 +7,14 @@ import java.util.stream.Collectors;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.common.oracle.DifferentialQueryExecutor;
+import sqlancer.common.oracle.DifferentialQueryExecutor.Variant;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.tidb.TiDBErrors;
 import sqlancer.tidb.TiDBExpressionGenerator;
+import sqlancer.tidb.TiDBProvider;
 import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
 import sqlancer.tidb.TiDBSchema.TiDBTables;
 import sqlancer.tidb.ast.TiDBColumnReference;
@@ -27,10 +31,13 @@ public class TiDBDQPOracle implements TestOracle<TiDBGlobalState> {
     private final TiDBGlobalState state;
     private TiDBSelect select;
     private final ExpectedErrors errors = new ExpectedErrors();
+    private final DifferentialQueryExecutor executor;
 
     public TiDBDQPOracle(TiDBGlobalState globalState) {
         state = globalState;
         TiDBErrors.addExpressionErrors(errors);
+        executor = new DifferentialQueryExecutor(globalState, errors,
+                () -> ((TiDBProvider) globalState.getState().getDatabaseProvider()).openConnection(globalState));
     }
 
     @Override
@@ -64,17 +71,17 @@ public class TiDBDQPOracle implements TestOracle<TiDBGlobalState> {
         }
 
         String originalQueryString = TiDBVisitor.asString(select);
-        List<String> originalResult = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors,
+        ResultMultiset originalResult = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
                 state);
 
+        List<Variant> variants = new ArrayList<>();
         List<TiDBText> hintList = TiDBHintGenerator.generateAllHints(select, tables.getTables());
         for (TiDBText hint : hintList) {
             select.setHint(hint);
-            String queryString = TiDBVisitor.asString(select);
-            List<String> result = ComparatorHelper.getResultSetFirstColumnAsString(queryString, errors, state);
-            ComparatorHelper.assumeResultSetsAreEqual(originalResult, result, originalQueryString, List.of(queryString),
-                    state);
+            variants.add(Variant.of(TiDBVisitor.asString(select)));
         }
+        executor.execute(variants, (variant, result) -> ComparatorHelper.assumeResultSetsAreEqual(originalResult,
+                result, originalQueryString, List.of(variant.getQuery()), state));
     }
 
 }
@@ -7,6 +7,7 @@ import java.util.List;
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
 import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.tidb.TiDBErrors;
 import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
 import sqlancer.tidb.ast.TiDBExpression;
@@ -35,7 +36,8 @@ public class TiDBTLPHavingOracle extends TiDBTLPBase implements TestOracle<TiDBG
         select.setHavingClause(null);
         String originalQueryString = TiDBVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultMultiset resultSet = ComparatorHelper.getResultSetFirstColumnAsMultiset(originalQueryString, errors,
+                state);
 
         select.setHavingClause(predicate);
         String firstQueryString = TiDBVisitor.asString(select);
@@ -44,7 +46,7 @@ public class TiDBTLPHavingOracle extends TiDBTLPBase implements TestOracle<TiDBG
         select.setHavingClause(isNullPredicate);
         String thirdQueryString = TiDBVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
+        ResultMultiset secondResultSet = ComparatorHelper.getCombinedResultMultiset(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, !orderBy, state, errors);
         ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
                 state);
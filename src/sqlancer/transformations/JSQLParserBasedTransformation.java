@@ -18,10 +18,15 @@ public class JSQLParserBasedTransformation extends Transformation {
     @Override
     protected void onStatementChanged() {
         if (statementChangedHandler != null) {
-            statementChangedHandler.accept(this.statement.toString());
+            statementChangedHandler.accept(getStatementString());
         }
     }
 
+    @Override
+    protected String getStatementString() {
+        return this.statement.toString();
+    }
+
     @Override
     public boolean init(String sql) {
         this.current = sql;
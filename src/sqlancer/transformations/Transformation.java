@@ -4,15 +4,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 /**
  * The base class of transformations. Defines APIs to remove, replace, remove elements of a list.
  */
 public class Transformation {
 
-    private static Supplier<Boolean> bugJudgement;
-    private static long reduceSteps;
+    private TransformationSet owner;
 
     protected boolean isChanged;
     protected String current;
@@ -28,8 +26,8 @@ public class Transformation {
     protected Transformation() {
     }
 
-    public static void setBugJudgement(Supplier<Boolean> judgement) {
-        bugJudgement = judgement;
+    void setOwner(TransformationSet owner) {
+        this.owner = owner;
     }
 
     @Override
@@ -50,7 +48,7 @@ public class Transformation {
             onStatementChanged();
             return false;
         }
-        reduceSteps++;
+        owner.incrementReduceSteps();
         isChanged = true;
         return true;
     }
@@ -63,13 +61,17 @@ public class Transformation {
             onStatementChanged();
             return false;
         }
-        reduceSteps++;
+        owner.incrementReduceSteps();
         isChanged = true;
         return true;
     }
 
     public <P, T> void tryRemoveElms(P parent, List<T> elms, // NOPMD
             BiConsumer<P, List<T>> setter) {
+        if (owner.getBatchBugJudgement() != null) {
+            tryRemoveElmsInBatches(parent, elms, setter);
+            return;
+        }
         boolean observeChange;
         do {
             observeChange = false;
@@ -86,15 +88,48 @@ public class Transformation {
             }
             isChanged |= observeChange;
             setter.accept(parent, elms);
-            reduceSteps++;
+            owner.incrementReduceSteps();
             onStatementChanged();
         } while (observeChange);
 
     }
 
+    // removes the same elements as the sequential loop above, but tests up to the batch size candidates at once
+    private <P, T> void tryRemoveElmsInBatches(P parent, List<T> elms, // NOPMD
+            BiConsumer<P, List<T>> setter) {
+        boolean observeChange;
+        do {
+            observeChange = false;
+            int i = elms.size() - 1;
+            while (i >= 0) {
+                List<List<T>> candidates = new ArrayList<>();
+                List<String> variants = new ArrayList<>();
+                for (int j = i; j >= 0 && candidates.size() < owner.getBatchSize(); j--) {
+                    List<T> reducedElms = new ArrayList<>(elms);
+                    reducedElms.subList(j, j + 1).clear();
+                    setter.accept(parent, reducedElms);
+                    candidates.add(reducedElms);
+                    variants.add(getStatementString());
+                }
+                int firstSuccess = owner.getBatchBugJudgement().apply(variants);
+                if (firstSuccess == -1) {
+                    i -= candidates.size();
+                } else {
+                    elms = candidates.get(firstSuccess);
+                    observeChange = true;
+                    i -= firstSuccess + 1;
+                }
+            }
+            isChanged |= observeChange;
+            setter.accept(parent, elms);
+            owner.incrementReduceSteps();
+            onStatementChanged();
+        } while (observeChange);
+    }
+
     public boolean bugStillTriggers() {
         try {
-            return Transformation.bugJudgement.get();
+            return owner.getBugJudgement().get();
         } catch (Exception ignored) {
         }
         return false;
@@ -108,11 +143,11 @@ public class Transformation {
         return isChanged;
     }
 
-    public static long getReduceSteps() {
-        return reduceSteps;
+    protected void onStatementChanged() {
     }
 
-    protected void onStatementChanged() {
+    protected String getStatementString() {
+        return current;
     }
 
     public void setStatementChangedCallBack(Consumer<String> statementChangedHandler) {
@@ -0,0 +1,70 @@
+package sqlancer.transformations;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The transformations that one reducer applies, together with the judgements that test their variants of a statement
+ * and the number of reduction steps that they have taken.
+ */
+public class TransformationSet implements Iterable<Transformation> {
+
+    private final List<Transformation> transformations;
+    private Supplier<Boolean> bugJudgement;
+    private Function<List<String>, Integer> batchBugJudgement;
+    private int batchSize;
+    private long reduceSteps;
+
+    public TransformationSet(List<Transformation> transformations) {
+        this.transformations = transformations;
+        for (Transformation t : transformations) {
+            t.setOwner(this);
+        }
+    }
+
+    public void setBugJudgement(Supplier<Boolean> judgement) {
+        bugJudgement = judgement;
+    }
+
+    /**
+     * Sets a judgement that tests several variants of the current statement at once, which is used to remove the
+     * elements of lists. Without such a judgement, each variant is tested individually.
+     *
+     * @param judgement
+     *            returns the index of the first variant that still triggers the bug, or -1 if none does
+     * @param size
+     *            the maximum number of variants passed to the judgement
+     */
+    public void setBatchBugJudgement(Function<List<String>, Integer> judgement, int size) {
+        batchBugJudgement = judgement;
+        batchSize = size;
+    }
+
+    public long getReduceSteps() {
+        return reduceSteps;
+    }
+
+    @Override
+    public Iterator<Transformation> iterator() {
+        return transformations.iterator();
+    }
+
+    Supplier<Boolean> getBugJudgement() {
+        return bugJudgement;
+    }
+
+    Function<List<String>, Integer> getBatchBugJudgement() {
+        return batchBugJudgement;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    void incrementReduceSteps() {
+        reduceSteps++;
+    }
+
+}
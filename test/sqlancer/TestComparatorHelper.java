@@ -1,5 +1,6 @@
 package sqlancer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
 import java.sql.SQLException;
@@ -8,6 +9,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import sqlancer.common.query.ResultMultiset;
 import sqlancer.h2.H2Options;
 import sqlancer.h2.H2Schema;
 
@@ -69,4 +71,34 @@ public class TestComparatorHelper {
         });
     }
 
+    @Test
+    public void testAssumeResultMultisetsAreEqualIgnoresOrder() {
+        ResultMultiset r1 = ResultMultiset.of(Arrays.asList("a", "b", "b", "c"));
+        ResultMultiset r2 = ResultMultiset.of(Arrays.asList("c", "b", "a", "b"));
+        ComparatorHelper.assumeResultSetsAreEqual(r1, r2, "", Arrays.asList(""), state);
+    }
+
+    @Test
+    public void testAssumeResultMultisetsAreEqualWithUnequalValueSets() {
+        ResultMultiset r1 = ResultMultiset.of(Arrays.asList("a", "b", "c"));
+        ResultMultiset r2 = ResultMultiset.of(Arrays.asList("a", "b", "d"));
+        // see testAssumeResultSetsAreEqualWithUnequalValueSets for why a NullPointerException is expected
+        assertThrowsExactly(NullPointerException.class, () -> {
+            ComparatorHelper.assumeResultSetsAreEqual(r1, r2, "", Arrays.asList(""), state);
+        });
+    }
+
+    @Test
+    public void testResultMultisetCounts() {
+        ResultMultiset r1 = ResultMultiset.of(Arrays.asList("a", null, "a"));
+        ResultMultiset r2 = ResultMultiset.of(Arrays.asList("b"));
+        r1.addAll(r2);
+        assertEquals(4, r1.size());
+        assertEquals(2, r1.getCount("a"));
+        assertEquals(1, r1.getCount(null));
+        assertEquals(1, r1.getCount("b"));
+        assertEquals(0, r1.getCount("c"));
+        assertEquals(4, r1.map(s -> "x").getCount("x"));
+    }
+
 }
@@ -1,8 +1,11 @@
 package sqlancer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -156,4 +159,90 @@ public class TestExpectedErrors {
         assertTrue(errors.errorIsExpected("c"));
         assertFalse(errors.errorIsExpected("aa"));
     }
+
+    @Test
+    public void testCompiledAfterRepeatedQueries() {
+        ExpectedErrors errors = ExpectedErrors.newErrors().with("constraint", "overflow", "division by zero").build();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(errors.errorIsExpected("UNIQUE constraint failed"));
+            assertTrue(errors.errorIsExpected("integer overflow"));
+            assertTrue(errors.errorIsExpected("ERROR: division by zero!"));
+            assertFalse(errors.errorIsExpected("division by one"));
+            assertFalse(errors.errorIsExpected(""));
+        }
+    }
+
+    @Test
+    public void testAddAfterCompilation() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.add("abc");
+        assertFalse(errors.errorIsExpected("xyz"));
+        assertFalse(errors.errorIsExpected("xyz"));
+        errors.add("xy");
+        assertTrue(errors.errorIsExpected("xyz"));
+        errors.addRegexString("q+");
+        assertTrue(errors.errorIsExpected("aqqa"));
+    }
+
+    @Test
+    public void testOverlappingSubstrings() {
+        ExpectedErrors errors = ExpectedErrors.newErrors().with("abcd", "bce", "cx").build();
+        for (int i = 0; i < 2; i++) {
+            assertTrue(errors.errorIsExpected("abcx"));
+            assertTrue(errors.errorIsExpected("abce"));
+            assertTrue(errors.errorIsExpected("aabcd"));
+            assertFalse(errors.errorIsExpected("abcab"));
+        }
+    }
+
+    @Test
+    public void testEmptySubstring() {
+        ExpectedErrors errors = ExpectedErrors.from("");
+        for (int i = 0; i < 2; i++) {
+            assertTrue(errors.errorIsExpected(""));
+            assertTrue(errors.errorIsExpected("a"));
+        }
+    }
+
+    @Test
+    public void testRegexesThatCannotBeMerged() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addRegex(Pattern.compile("(a)\\1"));
+        errors.addRegex(Pattern.compile("^b$", Pattern.CASE_INSENSITIVE));
+        errors.addRegexString("(?<x>c)d");
+        errors.addRegexString("(?<x>e)f");
+        for (int i = 0; i < 2; i++) {
+            assertTrue(errors.errorIsExpected("aa"));
+            assertFalse(errors.errorIsExpected("ab"));
+            assertTrue(errors.errorIsExpected("B"));
+            assertFalse(errors.errorIsExpected("Bb"));
+            assertTrue(errors.errorIsExpected("cd"));
+            assertTrue(errors.errorIsExpected("ef"));
+        }
+    }
+
+    @Test
+    public void testCompiledMatchesLinearScan() {
+        Random r = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            List<String> substrings = new ArrayList<>();
+            for (int j = 0; j < r.nextInt(20); j++) {
+                substrings.add(getRandomString(r, 1 + r.nextInt(4)));
+            }
+            ExpectedErrors errors = ExpectedErrors.newErrors().with(substrings).build();
+            for (int j = 0; j < 100; j++) {
+                String error = getRandomString(r, r.nextInt(10));
+                boolean expected = substrings.stream().anyMatch(error::contains);
+                assertEquals(expected, errors.errorIsExpected(error));
+            }
+        }
+    }
+
+    private static String getRandomString(Random r, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + r.nextInt(3)));
+        }
+        return sb.toString();
+    }
 }
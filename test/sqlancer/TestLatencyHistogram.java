@@ -0,0 +1,54 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestLatencyHistogram {
+
+    @Test
+    public void testBucketsCoverAllLatencies() {
+        long previousMax = -1;
+        for (int bucket = 0; bucket <= LatencyHistogram.getBucket(Long.MAX_VALUE); bucket++) {
+            long max = LatencyHistogram.getBucketMax(bucket);
+            assertEquals(bucket, LatencyHistogram.getBucket(previousMax + 1));
+            assertEquals(bucket, LatencyHistogram.getBucket(max));
+            previousMax = max;
+        }
+        assertEquals(Long.MAX_VALUE, previousMax);
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long latency = 1; latency <= 1000; latency++) {
+            histogram.record(latency * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertWithinBucket(500_000, histogram.getPercentile(50));
+        assertWithinBucket(990_000, histogram.getPercentile(99));
+        assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testAdd() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(20);
+        second.record(30);
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(first);
+        merged.add(second);
+        assertEquals(3, merged.getCount());
+        assertEquals(30, merged.getMax());
+        assertEquals(20, merged.getPercentile(50));
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16, actual + " is not close to " + expected);
+    }
+
+}
@@ -0,0 +1,63 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.oracle.CompositeTestOracle;
+import sqlancer.common.oracle.TestOracle;
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+public class TestMetrics {
+
+    private static final class FirstOracle implements TestOracle<SQLite3GlobalState> {
+        @Override
+        public void check() {
+        }
+    }
+
+    private static final class SecondOracle implements TestOracle<SQLite3GlobalState> {
+        @Override
+        public void check() {
+        }
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws InterruptedException {
+        long nrQueries = Metrics.getQueries();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    Metrics.incrementQueries();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(nrQueries + 4000, Metrics.getQueries());
+    }
+
+    @Test
+    public void testCompositeOracleCountsItsOracles() throws Exception {
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(new MainOptions());
+        state.setManager(new Main.QueryManager<>(state));
+        CompositeTestOracle<SQLite3GlobalState> oracle = new CompositeTestOracle<>(
+                List.of(new FirstOracle(), new SecondOracle()), state);
+        for (int i = 0; i < 3; i++) {
+            oracle.check();
+            Metrics.recordOracleCheck(oracle, true, 0, 0);
+        }
+        assertEquals(Long.valueOf(2), Metrics.getChecksPerOracle().get("FirstOracle"));
+        assertEquals(Long.valueOf(1), Metrics.getChecksPerOracle().get("SecondOracle"));
+        assertNull(Metrics.getChecksPerOracle().get("CompositeTestOracle"));
+    }
+
+}
@@ -0,0 +1,68 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TestQueryPlanGuidance {
+
+    @Test
+    public void testFingerprintIgnoresNames() {
+        long fingerprint = QueryPlanGuidance.getFingerprint("SCAN t1 USING INDEX i3");
+        assertEquals(fingerprint, QueryPlanGuidance.getFingerprint("SCAN t0 USING INDEX i0"));
+        assertNotEquals(fingerprint, QueryPlanGuidance.getFingerprint("SCAN t0"));
+    }
+
+    @Test
+    public void testReferencedTables() {
+        assertEquals(Set.of("t0", "v12"),
+                QueryPlanGuidance.getReferencedTables("SELECT t0.c0 FROM t0, v12 WHERE t0.c1 = 'rt3'"));
+        assertEquals(Set.of("t1"), QueryPlanGuidance.getReferencedTables("CREATE INDEX i0 ON t1(c0);"));
+        assertEquals(Set.of(), QueryPlanGuidance.getReferencedTables("DROP INDEX i0;"));
+    }
+
+    @Test
+    public void testFingerprintIsAddedOnce() throws InterruptedException {
+        long fingerprint = QueryPlanGuidance.getFingerprint("SEARCH v7 USING COVERING INDEX i1 (c0=?)");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        int[] nrAdded = new int[1];
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                if (QueryPlanGuidance.addFingerprint(fingerprint)) {
+                    synchronized (nrAdded) {
+                        nrAdded[0]++;
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(1, nrAdded[0]);
+        assertFalse(QueryPlanGuidance.addFingerprint(fingerprint));
+    }
+
+    @Test
+    public void testConcurrentRewardUpdates() throws InterruptedException {
+        QueryPlanGuidance.initialize(new MainOptions(), () -> new double[] { 0, 0 });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    QueryPlanGuidance.addToReward(1, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(2, QueryPlanGuidance.getNrMutators());
+        assertEquals(1, QueryPlanGuidance.getMaxRewardIndex());
+    }
+
+}
@@ -247,6 +247,15 @@ public class TestRandomly {
         }
     }
 
+    @Test // check that an instance created with a string provider continues with the seeded values of the thread
+    public void testSeedWithProvider() {
+        int seed = 123;
+        new Randomly(seed);
+        List<String> values = getRandomValueList(new Randomly(() -> "x"));
+        new Randomly(seed);
+        assertEquals(values, getRandomValueList(new Randomly(() -> "x")));
+    }
+
     private List<String> getRandomValueList(Randomly r) {
         List<String> values = new ArrayList<>();
         for (int i = 0; i < 1000; i++) {
@@ -0,0 +1,41 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public class TestReductionService {
+
+    @Test
+    public void testSmallerReductionsFirst() throws Exception {
+        ReductionService service = new ReductionService(1, 10, null);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        service.submit(100, blocked::await);
+        for (int nrStatements : new int[] { 5, 1, 3 }) {
+            service.submit(nrStatements, () -> order.add(nrStatements));
+        }
+        blocked.countDown();
+        assertTrue(service.awaitTermination(60_000));
+        assertEquals(Arrays.asList(1, 3, 5), order);
+    }
+
+    @Test
+    public void testFullQueueReducesOnCurrentThread() throws Exception {
+        ReductionService service = new ReductionService(1, 1, null);
+        CountDownLatch blocked = new CountDownLatch(1);
+        Thread[] reducingThread = new Thread[1];
+        service.submit(1, blocked::await);
+        service.submit(1, () -> reducingThread[0] = Thread.currentThread());
+        assertEquals(Thread.currentThread(), reducingThread[0]);
+        blocked.countDown();
+        assertTrue(service.awaitTermination(60_000));
+    }
+
+}
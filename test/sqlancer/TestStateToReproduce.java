@@ -106,4 +106,53 @@ public class TestStateToReproduce {
         assertEquals(2, result.getStatements().size());
         assertEquals("INSERT INTO test VALUES (1);", result.getStatements().get(1).getLogString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSpilledStatements() throws IOException {
+        SQLite3Provider provider = new SQLite3Provider();
+        StateToReproduce state = new StateToReproduce("test_spill", provider);
+        state.setMaxStatementsInMemory(3);
+        for (int i = 0; i < 10; i++) {
+            state.logStatement("INSERT INTO test VALUES (" + i + ");");
+        }
+        try (StateToReproduce.OracleRunReproductionState localState = state.createLocalState()) {
+            localState.log("SELECT * FROM test;");
+        }
+
+        List<Query<?>> statements = state.getStatements();
+        assertEquals(11, statements.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("INSERT INTO test VALUES (" + i + ");", statements.get(i).getLogString());
+        }
+        assertEquals("SELECT * FROM test;", statements.get(10).getLogString());
+
+        Path file = tempDir.resolve("test_spill.ser");
+        state.serialize(file);
+        StateToReproduce result = StateToReproduce.deserialize(file);
+        assertEquals(11, result.getStatements().size());
+        assertEquals("INSERT INTO test VALUES (0);", result.getStatements().get(0).getLogString());
+    }
+
+    @Test
+    public void testSpilledStatementsOfSeveralStates() {
+        SQLite3Provider provider = new SQLite3Provider();
+        StateToReproduce first = new StateToReproduce("test_spill_first", provider);
+        StateToReproduce second = new StateToReproduce("test_spill_second", provider);
+        first.setMaxStatementsInMemory(4);
+        second.setMaxStatementsInMemory(4);
+        for (int i = 0; i < 10; i++) {
+            first.logStatement("INSERT INTO first VALUES (" + i + ");");
+            second.logStatement("INSERT INTO second VALUES (" + i + ");");
+        }
+
+        // the statements of one state are not overwritten when the other state spills its statements
+        List<Query<?>> firstStatements = first.getStatements();
+        List<Query<?>> secondStatements = second.getStatements();
+        assertEquals(10, firstStatements.size());
+        assertEquals(10, secondStatements.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("INSERT INTO first VALUES (" + i + ");", firstStatements.get(i).getLogString());
+            assertEquals("INSERT INTO second VALUES (" + i + ");", secondStatements.get(i).getLogString());
+        }
+    }
+}
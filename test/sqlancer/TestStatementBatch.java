@@ -0,0 +1,95 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Options.SQLite3Storage;
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestStatementBatch {
+
+    private static final ExpectedErrors UNIQUE_ERRORS = ExpectedErrors.from("UNIQUE constraint failed");
+
+    private SQLite3GlobalState state;
+
+    @BeforeEach
+    public void createDatabase() throws Exception {
+        SQLite3Provider provider = new SQLite3Provider();
+        state = new SQLite3GlobalState();
+        SQLite3Options options = new SQLite3Options();
+        options.storage = SQLite3Storage.MEMORY;
+        state.setDbmsSpecificOptions(options);
+        state.setDatabaseName("batch");
+        MainOptions mainOptions = new MainOptions();
+        state.setMainOptions(mainOptions);
+        state.setStateLogger(new Main.StateLogger("batch", provider, mainOptions));
+        state.setState(new StateToReproduce("batch", provider));
+        state.setManager(new Main.QueryManager<>(state));
+        state.setConnection(provider.createDatabase(state));
+        state.executeStatement(new SQLQueryAdapter("CREATE TABLE t0(c0 INT UNIQUE)", true));
+    }
+
+    private static SQLQueryAdapter insert(String values, ExpectedErrors errors) {
+        return new SQLQueryAdapter("INSERT INTO t0(c0) VALUES " + values, errors);
+    }
+
+    private int countRows() throws Exception {
+        try (Statement s = state.getConnection().createStatement();
+                ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM t0")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    public void testSuccessfulBatch() throws Exception {
+        List<Query<SQLConnection>> batch = List.of(insert("(1), (2)", UNIQUE_ERRORS), insert("(3)", UNIQUE_ERRORS));
+        assertArrayEquals(new boolean[] { true, true }, state.executeStatementBatch(batch));
+        assertEquals(2, batch.get(0).getUpdateCount());
+        assertEquals(1, batch.get(1).getUpdateCount());
+        assertEquals(3, countRows());
+    }
+
+    @Test
+    public void testStatementsAfterFailedStatement() throws Exception {
+        // the driver stops at the failed statement, so the statements after it are executed one by one
+        List<Query<SQLConnection>> batch = List.of(insert("(1), (2)", UNIQUE_ERRORS), insert("(1)", UNIQUE_ERRORS),
+                insert("(3)", UNIQUE_ERRORS), insert("(2)", UNIQUE_ERRORS), insert("(4), (5)", UNIQUE_ERRORS));
+        assertArrayEquals(new boolean[] { true, false, true, false, true }, state.executeStatementBatch(batch));
+        assertEquals(2, batch.get(0).getUpdateCount());
+        assertEquals(Query.UNKNOWN_UPDATE_COUNT, batch.get(1).getUpdateCount());
+        assertEquals(1, batch.get(2).getUpdateCount());
+        assertEquals(2, batch.get(4).getUpdateCount());
+        assertEquals(5, countRows());
+        assertEquals(6, state.getState().getStatements().size());
+    }
+
+    @Test
+    public void testUnexpectedErrorOfFailedStatement() throws Exception {
+        // the error is not expected by the failed statement, even though a later statement would expect it
+        List<Query<SQLConnection>> batch = List.of(insert("(1)", UNIQUE_ERRORS), insert("(2)", UNIQUE_ERRORS),
+                insert("(1)", new ExpectedErrors()), insert("(1)", UNIQUE_ERRORS));
+        assertThrows(AssertionError.class, () -> state.executeStatementBatch(batch));
+        assertEquals(2, countRows());
+        // the executed statements are logged, so that the bug can be reproduced
+        List<Query<?>> statements = state.getState().getStatements();
+        assertEquals(4, statements.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(batch.get(i).getLogString(), statements.get(i + 1).getLogString());
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.Query;
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestTemplateDatabases {
+
+    private final SQLite3Provider provider = new SQLite3Provider();
+
+    @Test
+    public void testCopies() throws Exception {
+        StateToReproduce template = createState("test_copies", 0, 5);
+        AtomicInteger nrDrops = new AtomicInteger();
+        TemplateDatabases.put("test_copies", template, 2, nrDrops::incrementAndGet);
+
+        for (int i = 0; i < 2; i++) {
+            StateToReproduce copy = new StateToReproduce("test_copies", provider);
+            assertEquals("copy", TemplateDatabases.copy("test_copies", copy, () -> "copy"));
+            assertStatements(5, copy.getStatements());
+            assertEquals(0, nrDrops.get());
+        }
+        // the template is dropped once all of its copies have been used
+        assertNull(TemplateDatabases.copy("test_copies", new StateToReproduce("test_copies", provider), () -> "copy"));
+        assertEquals(1, nrDrops.get());
+        TemplateDatabases.dropAll();
+        assertEquals(1, nrDrops.get());
+    }
+
+    @Test
+    public void testConcurrentCopies() throws Exception {
+        StateToReproduce template = createState("test_concurrent", 0, 5);
+        AtomicInteger nrDrops = new AtomicInteger();
+        AtomicInteger nrCopiesInProgress = new AtomicInteger();
+        TemplateDatabases.put("test_concurrent", template, 3, () -> {
+            // the template is not dropped while it is copied
+            assertEquals(0, nrCopiesInProgress.get());
+            nrDrops.incrementAndGet();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> copies = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            copies.add(executor.submit(() -> TemplateDatabases.copy("test_concurrent",
+                    new StateToReproduce("test_concurrent", provider), () -> {
+                        nrCopiesInProgress.incrementAndGet();
+                        Thread.sleep(1);
+                        nrCopiesInProgress.decrementAndGet();
+                        return "copy";
+                    })));
+        }
+        int nrCopies = 0;
+        for (Future<String> copy : copies) {
+            if (copy.get() != null) {
+                nrCopies++;
+            }
+        }
+        executor.shutdown();
+        // the last use is only taken once
+        assertEquals(3, nrCopies);
+        assertEquals(1, nrDrops.get());
+    }
+
+    @Test
+    public void testSpilledStatements() throws Exception {
+        StateToReproduce template = createState("test_spilled", 3, 10);
+        TemplateDatabases.put("test_spilled", template, 2, () -> {
+        });
+
+        for (int i = 0; i < 2; i++) {
+            StateToReproduce copy = new StateToReproduce("test_spilled", provider);
+            copy.setMaxStatementsInMemory(3);
+            TemplateDatabases.copy("test_spilled", copy, () -> "copy");
+            copy.logStatement("INSERT INTO test VALUES (10);");
+            assertStatements(11, copy.getStatements());
+        }
+        // the statements of the template are not changed by its copies
+        assertStatements(10, template.getStatements());
+        TemplateDatabases.dropAll();
+    }
+
+    private StateToReproduce createState(String databaseName, int maxStatementsInMemory, int nrStatements) {
+        StateToReproduce state = new StateToReproduce(databaseName, provider);
+        state.setMaxStatementsInMemory(maxStatementsInMemory);
+        for (int i = 0; i < nrStatements; i++) {
+            state.logStatement("INSERT INTO test VALUES (" + i + ");");
+        }
+        return state;
+    }
+
+    private static void assertStatements(int nrStatements, List<Query<?>> statements) {
+        assertEquals(nrStatements, statements.size());
+        for (int i = 0; i < nrStatements; i++) {
+            assertEquals("INSERT INTO test VALUES (" + i + ");", statements.get(i).getLogString());
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package sqlancer.cnosdb.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class TestCnosDBClient {
+
+    private static final int NR_ROWS = 10_000;
+
+    // answers each query with NR_ROWS rows, or with an error if the query is "ERROR"
+    private static final class StubServer implements AutoCloseable {
+        private final HttpServer server;
+        private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        private final List<String> requestUris = new ArrayList<>();
+        private final List<String> authorizations = new ArrayList<>();
+
+        StubServer() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/v1/sql", this::handle);
+            server.start();
+        }
+
+        private synchronized void handle(HttpExchange exchange) throws IOException {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            requestUris.add(exchange.getRequestURI().toString());
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            String query = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (query.equals("ERROR")) {
+                byte[] error = "table not found".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(422, error.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(error);
+                }
+                return;
+            }
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("c0,c1\n".getBytes(StandardCharsets.UTF_8));
+                for (int i = 0; i < NR_ROWS; i++) {
+                    out.write((i + ",v" + i + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        int getPort() {
+            return server.getAddress().getPort();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testQueryResult() throws Exception {
+        try (StubServer server = new StubServer()) {
+            CnosDBClient client = new CnosDBClient("127.0.0.1", server.getPort(), "root", "pw", "db0");
+            CnosDBResultSet rs = client.executeQuery("SELECT c0, c1 FROM m0");
+            for (int i = 0; i < NR_ROWS; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getLong(1));
+                assertEquals("v" + i, rs.getString(2));
+            }
+            assertFalse(rs.next());
+            assertTrue(rs.isClosed());
+            client.close();
+            assertEquals("/api/v1/sql?db=db0", server.requestUris.get(0));
+            assertEquals("Basic cm9vdDpwdw==", server.authorizations.get(0));
+        }
+    }
+
+    @Test
+    public void testError() throws Exception {
+        try (StubServer server = new StubServer()) {
+            CnosDBClient client = new CnosDBClient("127.0.0.1", server.getPort(), "root", "", "db0");
+            CnosDBException e = assertThrows(CnosDBException.class, () -> client.executeQuery("ERROR"));
+            assertTrue(e.getMessage().contains("table not found"));
+            assertThrows(CnosDBException.class, () -> client.execute("ERROR"));
+            assertTrue(client.execute("SELECT 1"));
+            client.close();
+        }
+    }
+
+    @Test
+    public void testConnectionIsReused() throws Exception {
+        try (StubServer server = new StubServer()) {
+            CnosDBClient client = new CnosDBClient("127.0.0.1", server.getPort(), "root", "", "db0");
+            for (int i = 0; i < 10; i++) {
+                client.execute("SELECT 1");
+                CnosDBResultSet rs = client.executeQuery("SELECT 1");
+                while (rs.next()) {
+                    // read to the end
+                }
+            }
+            client.close();
+            assertEquals(1, server.clientPorts.size());
+        }
+    }
+
+    @Test
+    public void testTooManyOpenResultSets() throws Exception {
+        try (StubServer server = new StubServer()) {
+            CnosDBClient client = new CnosDBClient("127.0.0.1", server.getPort(), "root", "", "db0", 2);
+            assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+                CnosDBResultSet first = client.executeQuery("SELECT 1");
+                assertTrue(first.next());
+                CnosDBResultSet second = client.executeQuery("SELECT 1");
+                assertTrue(second.next());
+                // the open result sets are not closed to execute a further query
+                assertThrows(AssertionError.class, () -> client.executeQuery("SELECT 1"));
+                assertFalse(first.isClosed());
+                assertTrue(client.execute("SELECT 1"));
+
+                first.close();
+                CnosDBResultSet third = client.executeQuery("SELECT 1");
+                assertTrue(third.next());
+                assertFalse(second.isClosed());
+            });
+            client.close();
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package sqlancer.common.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestAsyncLogWriter {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSyncWritesFlushedAndBufferedText() throws IOException {
+        File file = tempDir.resolve("cur.log").toFile();
+        AsyncLogWriter writer = new AsyncLogWriter(file, false);
+        writer.write("SELECT 1;\n");
+        writer.flush();
+        writer.write("SELECT 2;\n");
+        writer.sync();
+        assertEquals("SELECT 1;\nSELECT 2;\n", Files.readString(file.toPath()));
+        writer.close();
+        assertThrows(IOException.class, () -> writer.write("SELECT 3;\n"));
+    }
+
+    @Test
+    public void testReplaceFileOfClosedWriter() throws IOException {
+        File file = tempDir.resolve("replaced.log").toFile();
+        AsyncLogWriter first = new AsyncLogWriter(file, false);
+        first.write("a long statement of the first writer;\n");
+        first.close();
+        AsyncLogWriter second = new AsyncLogWriter(file, false);
+        second.write("SELECT 1;\n");
+        second.sync();
+        assertEquals("SELECT 1;\n", Files.readString(file.toPath()));
+        second.close();
+    }
+
+    @Test
+    public void testAppend() throws IOException {
+        File file = tempDir.resolve("plan.log").toFile();
+        for (int i = 0; i < 3; i++) {
+            AsyncLogWriter writer = new AsyncLogWriter(file, true);
+            writer.append("plan ").append(Integer.toString(i)).append('\n');
+            writer.sync();
+            writer.close();
+        }
+        assertEquals("plan 0\nplan 1\nplan 2\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void testFileCannotBeOpened() {
+        // a directory cannot be opened for writing
+        assertThrows(AssertionError.class, () -> new AsyncLogWriter(tempDir.toFile(), false));
+    }
+
+    @Test
+    public void testFailedWrite() throws IOException {
+        File full = new File("/dev/full");
+        assumeTrue(full.exists());
+        AsyncLogWriter writer = new AsyncLogWriter(full, true);
+        writer.write("SELECT 1;\n");
+        assertThrows(IOException.class, writer::sync);
+        assertThrows(IOException.class, writer::close);
+
+        // the other writers are not affected
+        File file = tempDir.resolve("cur.log").toFile();
+        AsyncLogWriter other = new AsyncLogWriter(file, false);
+        other.write("SELECT 2;\n");
+        other.sync();
+        assertEquals("SELECT 2;\n", Files.readString(file.toPath()));
+        other.close();
+    }
+
+}
@@ -0,0 +1,131 @@
+package sqlancer.common.oracle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.MainOptions.OracleScheduling;
+import sqlancer.Metrics;
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+public class TestOracleScheduler {
+
+    // the statistics of an oracle class are shared, so each test uses its own classes
+    private static class NoOracle implements TestOracle<SQLite3GlobalState> {
+        @Override
+        public void check() {
+        }
+    }
+
+    private static final class RoundRobinOracle extends NoOracle {
+    }
+
+    private static final class FastOracle extends NoOracle {
+    }
+
+    private static final class SlowOracle extends NoOracle {
+    }
+
+    private static final class CheapOracle extends NoOracle {
+    }
+
+    private static final class ExpensiveOracle extends NoOracle {
+    }
+
+    private static final class CheckedOracle extends NoOracle {
+    }
+
+    private static final class UncheckedOracle extends NoOracle {
+    }
+
+    private static final class IgnoringOracle extends NoOracle {
+        @Override
+        public void check() {
+            throw new IgnoreMeException();
+        }
+    }
+
+    private static final class ValidOracle extends NoOracle {
+    }
+
+    private static final class SameClassOracle extends NoOracle {
+    }
+
+    @Test
+    public void testRoundRobin() {
+        OracleScheduler scheduler = new OracleScheduler(
+                List.of(new RoundRobinOracle(), new RoundRobinOracle(), new RoundRobinOracle()),
+                OracleScheduling.ROUND_ROBIN);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i % 3, scheduler.nextOracle());
+        }
+    }
+
+    @Test
+    public void testUncheckedOracleFirst() {
+        OracleScheduler scheduler = new OracleScheduler(List.of(new CheckedOracle(), new UncheckedOracle()),
+                OracleScheduling.VALID_CHECKS_PER_SECOND);
+        scheduler.recordCheck(0, true, 1_000_000, 1);
+        assertEquals(1, scheduler.nextOracle());
+    }
+
+    @Test
+    public void testValidChecksPerSecond() {
+        OracleScheduler scheduler = new OracleScheduler(List.of(new SlowOracle(), new FastOracle()),
+                OracleScheduling.VALID_CHECKS_PER_SECOND);
+        for (int i = 0; i < 1000; i++) {
+            scheduler.recordCheck(1, true, 1_000_000, 10);
+            scheduler.recordCheck(0, true, 50_000_000, 1);
+        }
+        assertEquals(1, scheduler.nextOracle());
+        // the statistics are shared by the schedulers of oracles at the same positions
+        scheduler = new OracleScheduler(List.of(new SlowOracle(), new FastOracle()),
+                OracleScheduling.VALID_CHECKS_PER_STATEMENT);
+        assertEquals(0, scheduler.nextOracle());
+    }
+
+    @Test
+    public void testIgnoredChecksReduceScore() {
+        OracleScheduler scheduler = new OracleScheduler(List.of(new CheapOracle(), new ExpensiveOracle()),
+                OracleScheduling.VALID_CHECKS_PER_SECOND);
+        for (int i = 0; i < 1000; i++) {
+            scheduler.recordCheck(0, i % 10 == 0, 1_000_000, 1);
+            scheduler.recordCheck(1, true, 2_000_000, 1);
+        }
+        assertEquals(1, scheduler.nextOracle());
+    }
+
+    @Test
+    public void testOraclesOfTheSameClass() {
+        OracleScheduler scheduler = new OracleScheduler(List.of(new SameClassOracle(), new SameClassOracle()),
+                OracleScheduling.VALID_CHECKS_PER_SECOND);
+        scheduler.recordCheck(0, true, 1_000_000, 1);
+        // the second oracle has not been checked, even though an oracle of its class has
+        assertEquals(1, scheduler.nextOracle());
+        for (int i = 0; i < 1000; i++) {
+            scheduler.recordCheck(0, true, 50_000_000, 1);
+            scheduler.recordCheck(1, true, 1_000_000, 1);
+        }
+        assertEquals(1, scheduler.nextOracle());
+    }
+
+    @Test
+    public void testCompositeOracleRecordsIgnoredChecks() throws Exception {
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(new MainOptions());
+        CompositeTestOracle<SQLite3GlobalState> oracle = new CompositeTestOracle<>(
+                List.of(new IgnoringOracle(), new ValidOracle()), state);
+        assertThrows(IgnoreMeException.class, oracle::check);
+        oracle.check();
+        assertEquals(1, Metrics.getOracleStatistics(new IgnoringOracle()).getIgnoredChecks());
+        assertEquals(0, Metrics.getOracleStatistics(new IgnoringOracle()).getValidChecks());
+        assertEquals(1, Metrics.getOracleStatistics(new ValidOracle()).getValidChecks());
+        assertEquals(ValidOracle.class, oracle.getLastOracle().getClass());
+    }
+
+}
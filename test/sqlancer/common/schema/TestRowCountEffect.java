@@ -0,0 +1,64 @@
+package sqlancer.common.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.SQLQueryAdapter;
+
+public class TestRowCountEffect {
+
+    private static RowCountEffect getEffect(String query, boolean success, int updateCount) {
+        return RowCountEffect.of(new SQLQueryAdapter(query, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int getUpdateCount() {
+                return updateCount;
+            }
+        }, success);
+    }
+
+    @Test
+    public void testNoEffect() {
+        assertTrue(getEffect("SELECT * FROM t0", true, -1).hasNoEffect());
+        assertTrue(getEffect("CREATE INDEX i0 ON t0(c0)", true, 0).hasNoEffect());
+        assertTrue(getEffect("BEGIN TRANSACTION", false, 0).hasNoEffect());
+    }
+
+    @Test
+    public void testInsertAndDelete() {
+        RowCountEffect insert = getEffect("INSERT OR IGNORE INTO t0(c0) VALUES (1), (2)", true, 2);
+        assertEquals("t0", insert.getTableName());
+        assertTrue(insert.isRowCountKnown());
+        assertEquals(2, insert.getDelta());
+        RowCountEffect delete = getEffect("DELETE FROM t1 WHERE c0 > 3", true, 5);
+        assertEquals("t1", delete.getTableName());
+        assertEquals(-5, delete.getDelta());
+        RowCountEffect update = getEffect("UPDATE t2 SET c0 = 1", true, 7);
+        assertEquals("t2", update.getTableName());
+        assertEquals(0, update.getDelta());
+    }
+
+    @Test
+    public void testUnknownTableEffect() {
+        assertFalse(getEffect("INSERT INTO t0(c0) VALUES (1)", false, 0).isRowCountKnown());
+        assertFalse(getEffect("INSERT OR REPLACE INTO t0(c0) VALUES (1)", true, 1).isRowCountKnown());
+        assertFalse(getEffect("UPDATE OR REPLACE t0 SET c0 = 1", true, 1).isRowCountKnown());
+        assertFalse(getEffect("INSERT INTO t0(c0) VALUES (1) ON CONFLICT DO UPDATE SET c0 = 2", true, 1)
+                .isRowCountKnown());
+        assertEquals("t0", getEffect("INSERT INTO t0(c0) VALUES (1)", false, 0).getTableName());
+    }
+
+    @Test
+    public void testUnknownEffect() {
+        RowCountEffect rollback = getEffect("ROLLBACK TRANSACTION", true, 0);
+        assertFalse(rollback.isRowCountKnown());
+        assertNull(rollback.getTableName());
+        assertNull(getEffect("INSERT OR ROLLBACK INTO t0(c0) VALUES (1)", false, 0).getTableName());
+    }
+
+}
@@ -0,0 +1,81 @@
+package sqlancer.common.visitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestRenderingCache {
+
+    private static final class Node {
+        final String text;
+        final List<Node> children;
+
+        Node(String text, Node... children) {
+            this.text = text;
+            this.children = Arrays.asList(children);
+        }
+    }
+
+    private static final class CountingVisitor extends ToStringVisitor<Node> {
+        int nrVisitedNodes;
+
+        @Override
+        public void visitSpecific(Node expr) {
+            nrVisitedNodes++;
+            sb.append(expr.text);
+            if (!expr.children.isEmpty()) {
+                sb.append('(');
+                visit(expr.children);
+                sb.append(')');
+            }
+        }
+    }
+
+    @Test
+    public void testReusesRenderedText() {
+        Node predicate = new Node("AND", new Node("c0"), new Node("c1"));
+        Node negated = new Node("NOT", predicate);
+        Node isNull = new Node("ISNULL", predicate);
+        RenderingCache.enable(List.of(predicate));
+        try {
+            CountingVisitor first = new CountingVisitor();
+            first.visit(negated);
+            assertEquals("NOT(AND(c0, c1))", first.get());
+            assertEquals(4, first.nrVisitedNodes);
+            CountingVisitor second = new CountingVisitor();
+            second.visit(isNull);
+            assertEquals("ISNULL(AND(c0, c1))", second.get());
+            assertEquals(1, second.nrVisitedNodes);
+        } finally {
+            RenderingCache.disable();
+        }
+        assertNull(RenderingCache.current());
+        CountingVisitor uncached = new CountingVisitor();
+        uncached.visit(isNull);
+        assertEquals("ISNULL(AND(c0, c1))", uncached.get());
+        assertEquals(4, uncached.nrVisitedNodes);
+    }
+
+    @Test
+    public void testNestedCaches() {
+        Node outerRoot = new Node("c0");
+        RenderingCache.enable(List.of(outerRoot));
+        RenderingCache outer = RenderingCache.current();
+        assertTrue(outer.isRegistered(outerRoot));
+        RenderingCache.enable(List.of(new Node("c1")));
+        assertFalse(RenderingCache.current().isRegistered(outerRoot));
+        RenderingCache.disable();
+        assertEquals(outer, RenderingCache.current());
+        RenderingCache.disable();
+        assertNull(RenderingCache.current());
+        assertThrows(IllegalStateException.class, RenderingCache::disable);
+    }
+
+}
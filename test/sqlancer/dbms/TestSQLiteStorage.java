@@ -0,0 +1,52 @@
+package sqlancer.dbms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sqlancer.Main;
+
+public class TestSQLiteStorage {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSqliteFileStorage() {
+        assertEquals(0, executeMain("file"));
+        assertTrue(Files.exists(tempDir.resolve("storagedb0.db")));
+    }
+
+    @Test
+    public void testSqliteMemoryStorage() throws IOException {
+        assertEquals(0, executeMain("memory"));
+        assertNoFiles();
+    }
+
+    @Test
+    public void testSqliteSharedMemoryStorage() throws IOException {
+        assertEquals(0, executeMain("shared-memory"));
+        assertNoFiles();
+    }
+
+    private int executeMain(String storage) {
+        return Main.executeMain(new String[] { "--random-seed", "0", "--timeout-seconds", TestConfig.SECONDS,
+                "--num-threads", "1", "--num-queries", TestConfig.NUM_QUERIES, "--database-prefix", "storagedb",
+                "sqlite3", "--oracle", "NoREC", "--storage", storage, "--database-directory", tempDir.toString() });
+    }
+
+    private void assertNoFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+}
@@ -19,4 +19,14 @@ public class TestMySQLDQP {
                 "--num-threads", "1", "--num-queries", TestConfig.NUM_QUERIES, "mysql", "--oracle", "DQP" }));
     }
 
+    @Test
+    public void testmysqlDQPSessions() {
+        String mysql = System.getenv("MYSQL_AVAILABLE");
+        boolean mysqlIsAvailable = mysql != null && mysql.equalsIgnoreCase("true");
+        assumeTrue(mysqlIsAvailable);
+        assertEquals(0, Main.executeMain(new String[] { "--random-seed", "0", "--timeout-seconds", TestConfig.SECONDS,
+                "--num-threads", "1", "--num-queries", TestConfig.NUM_QUERIES, "--dqp-sessions", "4", "mysql",
+                "--oracle", "DQP" }));
+    }
+
 }
@@ -19,4 +19,14 @@ public class TestTiDBDQP {
                 "--num-threads", "1", "--num-queries", TestConfig.NUM_QUERIES, "tidb", "--oracle", "DQP" }));
     }
 
+    @Test
+    public void testTiDBDQPSessions() {
+        String tiDB = System.getenv("TIDB_AVAILABLE");
+        boolean tiDBIsAvailable = tiDB != null && tiDB.equalsIgnoreCase("true");
+        assumeTrue(tiDBIsAvailable);
+        assertEquals(0, Main.executeMain(new String[] { "--random-seed", "0", "--timeout-seconds", TestConfig.SECONDS,
+                "--num-threads", "1", "--num-queries", TestConfig.NUM_QUERIES, "--dqp-sessions", "4", "tidb",
+                "--oracle", "DQP" }));
+    }
+
 }